@@ -1,18 +1,37 @@
 package io.github.hbazai.fighter.android;
 
+import android.app.ActivityManager;
+import android.content.Context;
 import android.os.Bundle;
 
 import com.badlogic.gdx.backends.android.AndroidApplication;
 import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
 import io.github.hbazai.fighter.FighterGame;
+import io.github.hbazai.fighter.simulation.ThreadedSimulationRunner;
 
 /** Launches the Android application. */
 public class AndroidLauncher extends AndroidApplication {
+    // Enough for the gameplay atlas and a couple of characters
+    private static final long MIN_TEXTURE_BUDGET = 48L * 1024 * 1024;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         AndroidApplicationConfiguration configuration = new AndroidApplicationConfiguration();
         configuration.useImmersiveMode = true; // Recommended, but not required.
-        initialize(new FighterGame(), configuration);
+        // GLES 3 guarantees ETC2 textures, devices without it fall back to GLES 2 and PNG textures
+        configuration.useGL30 = true;
+        FighterGame game = new FighterGame();
+        game.simulationRunners = ThreadedSimulationRunner::new;
+        game.textureBudget = getTextureBudget();
+        initialize(game, configuration);
+    }
+
+    private long getTextureBudget() {
+        // Phones share their RAM with the GPU, a sixteenth of it keeps 1 and 2 GB devices clear of the low memory killer
+        ActivityManager activityManager = (ActivityManager) getSystemService(Context.ACTIVITY_SERVICE);
+        ActivityManager.MemoryInfo memoryInfo = new ActivityManager.MemoryInfo();
+        activityManager.getMemoryInfo(memoryInfo);
+        return Math.max(memoryInfo.totalMem / 16, MIN_TEXTURE_BUDGET);
     }
 }
\ No newline at end of file
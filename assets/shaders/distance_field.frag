@@ -0,0 +1,29 @@
+#ifdef GL_ES
+#extension GL_OES_standard_derivatives : enable
+precision mediump float;
+#endif
+
+varying vec4 v_color;
+varying vec2 v_texCoords;
+
+uniform sampler2D u_texture;
+
+// Outline width in distance units (0 disables it) and its color
+uniform float u_outline;
+uniform vec4 u_outlineColor;
+
+void main() {
+    float distance = texture2D(u_texture, v_texCoords).a;
+
+    // Smooth over about one screen pixel, whatever scale the text is drawn at
+    float smoothing = 0.7 * fwidth(distance);
+    float alpha = smoothstep(0.5 - smoothing, 0.5 + smoothing, distance);
+
+    if (u_outline > 0.0) {
+        float outlineAlpha = smoothstep(0.5 - u_outline - smoothing, 0.5 - u_outline + smoothing, distance);
+        vec4 color = mix(u_outlineColor, v_color, alpha);
+        gl_FragColor = vec4(color.rgb, color.a * outlineAlpha);
+    } else {
+        gl_FragColor = vec4(v_color.rgb, v_color.a * alpha);
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.hbazai.fighter.benchmarks;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.github.hbazai.fighter.Headless;
+import io.github.hbazai.fighter.objects.AnimationSet;
+import io.github.hbazai.fighter.objects.Fighter;
+import io.github.hbazai.fighter.resources.Assets;
+
+@State(Scope.Thread)
+public class AnimationFramesBenchmark {
+    private TextureAtlas atlas;
+
+    @Setup
+    public void setup() {
+        atlas = Headless.game().assets.manager.get(Assets.GAMEPLAY_ATLAS);
+    }
+
+    @Benchmark
+    public AtlasRegion[] getAnimationFrames() {
+        return AnimationSet.getAnimationFrames(atlas, Assets.PUNCH_SPRITE_SHEET);
+    }
+
+    @Benchmark
+    public Fighter createFighter() {
+        return Headless.fighter("Benchmark");
+    }
+}
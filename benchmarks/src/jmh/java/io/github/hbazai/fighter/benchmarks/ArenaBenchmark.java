@@ -0,0 +1,45 @@
+package io.github.hbazai.fighter.benchmarks;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.github.hbazai.fighter.Headless;
+import io.github.hbazai.fighter.objects.FrameData;
+import io.github.hbazai.fighter.resources.Assets;
+import io.github.hbazai.fighter.simulation.Arena;
+import io.github.hbazai.fighter.simulation.SimulationRunner;
+
+/**
+ * Benchmarks one tick of the free for all arena with every fighter played by a bot.
+ */
+@State(Scope.Thread)
+public class ArenaBenchmark {
+    @Param({"2", "32", "128"})
+    public int fighters;
+
+    private Arena arena;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        TextureAtlas atlas = Headless.game().assets.manager.get(Assets.GAMEPLAY_ATLAS);
+        FrameData frameData = Headless.game().assets.manager.get(Assets.FRAME_DATA, FrameData.class);
+        arena = new Arena(Headless.game().assets.animations.get(atlas), frameData, fighters);
+        arena.start(fighters, 0);
+    }
+
+    @Benchmark
+    public Arena update() {
+        // Start over whenever a fight ends, so the ring stays crowded
+        if (arena.isOver()) {
+            arena.start(fighters, 0);
+        }
+        arena.update(SimulationRunner.STEP);
+        return arena;
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.hbazai.fighter.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.github.hbazai.fighter.Headless;
+import io.github.hbazai.fighter.objects.Fighter;
+import io.github.hbazai.fighter.simulation.Match;
+import io.github.hbazai.fighter.simulation.SimulationRunner;
+
+@State(Scope.Thread)
+public class FighterBenchmark {
+    private Fighter fighter;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        fighter = Headless.fighter("Benchmark");
+        fighter.getReady(Match.PLAYER_START_POSITION_X, Match.FIGHTER_START_POSITION_Y);
+    }
+
+    @Benchmark
+    public Fighter updateIdle() {
+        fighter.update(SimulationRunner.STEP);
+        return fighter;
+    }
+
+    @Benchmark
+    public Fighter updateWalking() {
+        fighter.moveRight();
+        fighter.update(SimulationRunner.STEP);
+        return fighter;
+    }
+
+    @Benchmark
+    public Fighter updatePunching() {
+        // Starts a new punch whenever the previous one has finished
+        fighter.punch();
+        fighter.update(SimulationRunner.STEP);
+        return fighter;
+    }
+
+    /**
+     * A fighter held on the first active frame of a kick, so isAttackActive measures the hitbox lookup alone. The frame
+     * is set up outside the measured method, per invocation setup would cost more than the lookup itself.
+     */
+    @State(Scope.Thread)
+    public static class Kicking {
+        private Fighter fighter;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            fighter = Headless.fighter("Benchmark");
+            fighter.getReady(Match.PLAYER_START_POSITION_X, Match.FIGHTER_START_POSITION_Y);
+            fighter.kick();
+            while (!fighter.isAttackActive()) {
+                fighter.update(SimulationRunner.STEP);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean isAttackActive(Kicking kicking) {
+        return kicking.fighter.isAttackActive();
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.hbazai.fighter.benchmarks;
+
+import com.badlogic.gdx.math.Vector2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.github.hbazai.fighter.Headless;
+import io.github.hbazai.fighter.net.RollbackSession;
+import io.github.hbazai.fighter.objects.AnimationSet;
+import io.github.hbazai.fighter.objects.Fighter;
+import io.github.hbazai.fighter.objects.FrameData;
+import io.github.hbazai.fighter.resources.Assets;
+import io.github.hbazai.fighter.simulation.Controls;
+import io.github.hbazai.fighter.simulation.Match;
+import io.github.hbazai.fighter.simulation.MatchSnapshot;
+import io.github.hbazai.fighter.simulation.SimulationRunner;
+
+/**
+ * Benchmarks the round logic that used to live in {@code GameScreen.update}, driven without rendering.
+ */
+@State(Scope.Thread)
+public class MatchBenchmark {
+    private Match match;
+    private int tick;
+    private final MatchSnapshot saved = new MatchSnapshot();
+    private final MatchSnapshot resimulated = new MatchSnapshot();
+
+    private final Vector2 position = new Vector2();
+    private FrameData frameData;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        match = new Match(Headless.fighter("Player"), Headless.fighter("Opponent"));
+        match.startGame();
+        frameData = Headless.game().assets.manager.get(Assets.FRAME_DATA, FrameData.class);
+        tick = 0;
+
+        // Save a tick of the round in progress, so the rollback has fighters that can move
+        match.applyCommands(Match.COMMAND_SKIP_DELAY);
+        match.update(SimulationRunner.STEP, Controls.NONE, Controls.NONE);
+        match.update(SimulationRunner.STEP, Controls.NONE, Controls.NONE);
+        match.writeSnapshot(saved);
+    }
+
+    @Benchmark
+    public Match update() {
+        // Walk back and forth while attacking, skipping round delays and restarting when the game is over
+        tick++;
+        int controls = (tick & 64) == 0 ? Controls.RIGHT : Controls.LEFT;
+        if ((tick & 15) == 0) {
+            controls |= (tick & 16) == 0 ? Controls.PUNCH : Controls.KICK;
+        }
+        match.applyCommands(Match.COMMAND_SKIP_DELAY | Match.COMMAND_RESTART);
+        match.update(SimulationRunner.STEP, controls, Controls.NONE);
+        return match;
+    }
+
+    @Benchmark
+    public Match rollback() {
+        // Worst rollback the netcode allows: restore a saved tick and simulate it again up to the present
+        match.readSnapshot(saved);
+        for (int i = 0; i < RollbackSession.MAX_ROLLBACK; i++) {
+            match.writeSnapshot(resimulated);
+            match.update(SimulationRunner.STEP, (i & 1) == 0 ? Controls.RIGHT | Controls.PUNCH : Controls.RIGHT, Controls.LEFT);
+        }
+        return match;
+    }
+
+    @Benchmark
+    public Vector2 keepWithinRingBounds() {
+        // Alternate between positions inside and outside the ring
+        tick++;
+        position.set((tick & 127) * 0.6f - 5f, (tick & 31) - 4f);
+        Match.keepWithinRingBounds(position);
+        return position;
+    }
+
+    @Benchmark
+    public boolean hits() {
+        // A punch on its active frames against an idle fighter walking in and out of reach
+        tick++;
+        return frameData.hits(
+            Fighter.State.PUNCH, 2 + (tick & 1), Match.PLAYER_START_POSITION_X + (tick & 15), Match.FIGHTER_START_POSITION_Y, 1,
+            Fighter.State.IDLE, tick % AnimationSet.FRAMES, Match.OPPONET_START_POSITION_X - (tick & 31), Match.FIGHTER_START_POSITION_Y + (tick & 3), -1
+        );
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.hbazai.fighter.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+
+import io.github.hbazai.fighter.Headless;
+import io.github.hbazai.fighter.replay.MappedReplays;
+import io.github.hbazai.fighter.replay.ReplayReader;
+import io.github.hbazai.fighter.replay.ReplayRecorder;
+import io.github.hbazai.fighter.resources.GlobalVariables;
+import io.github.hbazai.fighter.simulation.Controls;
+import io.github.hbazai.fighter.simulation.Match;
+import io.github.hbazai.fighter.simulation.MatchSnapshot;
+import io.github.hbazai.fighter.simulation.OpponentAi;
+import io.github.hbazai.fighter.simulation.SimulationRunner;
+
+/**
+ * Benchmarks playing back the replay of a full game, against the computer on the hardest difficulty. A game of a few
+ * thousand ticks lasts a minute or more in real time.
+ */
+@State(Scope.Thread)
+public class ReplayBenchmark {
+    private Match match;
+    private ReplayReader reader;
+    private FileHandle file;
+
+    @Setup
+    public void setup() throws IOException {
+        match = new Match(Headless.fighter("Player"), Headless.fighter("Opponent"));
+        match.setDifficulty(GlobalVariables.Difficulty.HARD);
+        ReplayRecorder recorder = record(match);
+
+        file = Gdx.files.absolute(File.createTempFile("benchmark", ReplayRecorder.EXTENSION).getAbsolutePath());
+        recorder.save(file, match);
+        reader = MappedReplays.open(file);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    private static ReplayRecorder record(Match match) {
+        // Walk towards the opponent and attack now and then, the way SimulationRunner drives a match
+        OpponentAi ai = new OpponentAi();
+        ReplayRecorder recorder = new ReplayRecorder();
+        MatchSnapshot snapshot = new MatchSnapshot();
+        match.startGame();
+        recorder.begin(match);
+        for (int tick = 0; snapshot.gameState != Match.GameState.GAME_OVER; tick++) {
+            int controls = (tick & 256) == 0 ? Controls.RIGHT : Controls.LEFT;
+            if ((tick & 31) == 0) {
+                controls |= (tick & 32) == 0 ? Controls.PUNCH : Controls.KICK;
+            }
+            int commands = Match.COMMAND_SKIP_DELAY;
+            match.applyCommands(commands);
+            int opponentControls = ai.update(match);
+            recorder.record(controls | commands << Controls.COMMAND_SHIFT, opponentControls);
+            match.update(SimulationRunner.STEP, controls, opponentControls);
+            match.writeSnapshot(snapshot);
+        }
+        return recorder;
+    }
+
+    @Benchmark
+    public int play() {
+        return reader.play(match);
+    }
+
+    @Benchmark
+    public int seek() {
+        // Jump to the middle of the game through the index
+        reader.seek(reader.getTickCount() / 2);
+        return reader.getTick();
+    }
+}
@@ -2,57 +2,132 @@ package io.github.hbazai.fighter;
 
 import com.badlogic.gdx.ApplicationAdapter;
 import com.badlogic.gdx.Game;
-import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.utils.ScreenUtils;
 
+import io.github.hbazai.fighter.audio.AudioEngine;
 import io.github.hbazai.fighter.objects.Fighter;
 import io.github.hbazai.fighter.resources.Assets;
+import io.github.hbazai.fighter.resources.GlobalVariables;
+import io.github.hbazai.fighter.resources.Roster;
+import io.github.hbazai.fighter.screens.ArenaScreen;
 import io.github.hbazai.fighter.screens.GameScreen;
+import io.github.hbazai.fighter.screens.LoadingScreen;
+import io.github.hbazai.fighter.simulation.InlineSimulationRunner;
+import io.github.hbazai.fighter.simulation.SimulationRunner;
 
 /**
  * {@link com.badlogic.gdx.ApplicationListener} implementation shared by all platforms.
  */
 public class FighterGame extends Game {
     public SpriteBatch batch;
-    public ShapeRenderer shapeRenderer;
     public Assets assets;
+    public AudioEngine audio;
 
     // Screen
+    public LoadingScreen loadingScreen;
     public GameScreen gameScreen;
+    public ArenaScreen arenaScreen;
 
-    // Fighters
+    // Fighters in the free for all arena, or 0 to play the duel
+    public int arenaFighters;
+
+    // Milliseconds per frame the loading screen may spend loading assets
+    public int loadingTimeBudget = GlobalVariables.LOADING_TIME_BUDGET;
+
+    // Runner of the duel's simulation, browsers have no threads so it runs on the render thread unless a launcher says
+    public SimulationRunner.Factory simulationRunners = InlineSimulationRunner::new;
+
+    // Bytes of video memory the loaded textures may take
+    public long textureBudget = GlobalVariables.TEXTURE_BUDGET;
+
+    // Whether the window has lost the focus, on platforms that report it
+    private boolean unfocused;
+
+    // Fighters, and the roster index of the characters they start as
     public Fighter player, opponent;
+    public int playerCharacter = 0, opponentCharacter = 1;
 
     @Override
     public void create() {
         batch = new SpriteBatch();
-        shapeRenderer = new ShapeRenderer();
         assets = new Assets();
+        assets.residency.setBudget(textureBudget);
 
-        // load all assets
+        // queue all assets and load them in the loading screen
         assets.load();
-        assets.manager.finishLoading(); // Later we wiil create a loading screen here
+        loadingScreen = new LoadingScreen(this, loadingTimeBudget);
+        setScreen(loadingScreen);
+    }
+
+    public void assetsLoaded() {
+        audio = new AudioEngine(assets.manager);
 
         // Initialize Fighters
-        player = new Fighter(this,"H Bazai",new Color(1f,0.2f,0.2f,1f));
-        opponent = new Fighter(this, "Aboozar", new Color(0.25f, 0.7f, 1f, 1f));
+        Roster roster = assets.getRoster();
+        player = new Fighter(this, roster.get(playerCharacter));
+        opponent = new Fighter(this, roster.get(opponentCharacter));
 
         // initialize the game screen and switch it
-        gameScreen = new GameScreen(this);
-        setScreen(gameScreen);
+        if (arenaFighters > 0) {
+            arenaScreen = new ArenaScreen(this, arenaFighters);
+            setScreen(arenaScreen);
+        } else {
+            gameScreen = new GameScreen(this);
+            setScreen(gameScreen);
+        }
+
+        // the loading screen is not needed anymore
+        loadingScreen.dispose();
+        loadingScreen = null;
+    }
+
+    /**
+     * Plays a fighter as another character. Characters share the gameplay assets, which are loaded with everything
+     * else, so a pick never waits for anything to load.
+     */
+    public void pickCharacter(Fighter fighter, Roster.Character character) {
+        fighter.setCharacter(this, character);
+    }
+
+    public boolean isUnfocused() {
+        return unfocused;
+    }
+
+    /**
+     * Called by the launcher when the window loses or gains the focus, the duel renders less often meanwhile.
+     */
+    public void setUnfocused(boolean unfocused) {
+        this.unfocused = unfocused;
+        if (gameScreen != null) {
+            gameScreen.setUnfocused(unfocused);
+        }
     }
 
     @Override
     public void render() {
+        // Load in the background and evict unused textures, the loading screen does its own loading
+        if (loadingScreen == null) {
+            assets.residency.update();
+        }
         super.render();
     }
 
     @Override
     public void dispose() {
+        if (loadingScreen != null) {
+            loadingScreen.dispose();
+        }
+        if (gameScreen != null) {
+            gameScreen.dispose();
+        }
+        if (arenaScreen != null) {
+            arenaScreen.dispose();
+        }
+        if (audio != null) {
+            audio.stop();
+        }
         batch.dispose();
-        shapeRenderer.dispose();
         assets.dispose();
     }
 }
@@ -0,0 +1,161 @@
+package io.github.hbazai.fighter.audio;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import io.github.hbazai.fighter.resources.Assets;
+import io.github.hbazai.fighter.resources.GlobalVariables;
+import io.github.hbazai.fighter.simulation.GameEvent;
+import io.github.hbazai.fighter.simulation.GameEvents;
+
+/**
+ * Plays the sound effects and the music. Sound effects are fully loaded {@link Sound}s played through a small pool of
+ * voices: when every voice is busy the one closest to its end is cut, and a sound played again within its cooldown is
+ * skipped, so a flurry of hits never stacks up dozens of voices. The music is a streamed {@link Music}.
+ * <p>
+ * Sounds are triggered by {@link GameEvent}s, or directly with {@link #play(int)}. Must only be used from the render
+ * thread, and allocates nothing once created.
+ */
+public class AudioEngine implements GameEvents.Listener {
+    // Sounds
+    public static final int BLOCK = 0;
+    public static final int BOO = 1;
+    public static final int CHEER = 2;
+    public static final int CLICK = 3;
+    public static final int HIT = 4;
+
+    static final String[] SOUNDS = {
+        Assets.BLOCK_SOUND,
+        Assets.BOO_SOUND,
+        Assets.CHEER_SOUND,
+        Assets.CLICK_SOUND,
+        Assets.HIT_SOUND
+    };
+    // Length of each sound in milliseconds, rounded up from the MP3 frames of the asset, a voice is busy for that long
+    static final int[] LENGTHS = {400, 7530, 4540, 370, 580};
+    // Milliseconds before the same sound can be played again
+    private static final int[] COOLDOWNS = {60, 1000, 1000, 50, 60};
+
+    public static final int MAX_VOICES = 8;
+
+    // How far apart the fighters' hits are panned and how much their pitch varies
+    private static final float MAX_PAN = 0.6f;
+    private static final float PITCH_VARIATION = 0.08f;
+
+    private static final float MUSIC_VOLUME = 0.5f;
+
+    private final Sound[] sounds = new Sound[SOUNDS.length];
+    private final long[] lastPlayed = new long[SOUNDS.length];
+
+    // Sound, id and end time of each voice
+    private final int[] voiceSounds = new int[MAX_VOICES];
+    private final long[] voiceIds = new long[MAX_VOICES];
+    private final long[] voiceEnds = new long[MAX_VOICES];
+
+    private final Music music;
+
+    private float soundVolume = 1f;
+    private boolean muted;
+
+    public AudioEngine(AssetManager manager) {
+        for (int i = 0; i < SOUNDS.length; i++) {
+            sounds[i] = manager.get(SOUNDS[i], Sound.class);
+            lastPlayed[i] = Long.MIN_VALUE / 2;
+        }
+
+        music = manager.get(Assets.MUSIC, Music.class);
+        music.setLooping(true);
+        music.setVolume(MUSIC_VOLUME);
+    }
+
+    public void setSoundVolume(float soundVolume) {
+        this.soundVolume = soundVolume;
+    }
+
+    public void setMuted(boolean muted) {
+        this.muted = muted;
+        music.setVolume(muted ? 0f : MUSIC_VOLUME);
+    }
+
+    public boolean isMuted() {
+        return muted;
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        switch (event.type) {
+            case GameEvent.HIT:
+                play(HIT, 1f, 1f + MathUtils.random(-PITCH_VARIATION, PITCH_VARIATION), getPan(event.x));
+                break;
+            case GameEvent.BLOCK:
+                play(BLOCK, 0.8f, 1f + MathUtils.random(-PITCH_VARIATION, PITCH_VARIATION), getPan(event.x));
+                break;
+            case GameEvent.ROUND_END:
+                // The crowd is on the player's side
+                play(event.fighter == GameEvent.PLAYER ? CHEER : BOO);
+                break;
+        }
+    }
+
+    private static float getPan(float x) {
+        return MathUtils.clamp((x / GlobalVariables.WORLD_WIDTH * 2f - 1f) * MAX_PAN, -1f, 1f);
+    }
+
+    public void play(int sound) {
+        play(sound, 1f, 1f, 0f);
+    }
+
+    public void play(int sound, float volume, float pitch, float pan) {
+        if (muted) return;
+
+        long now = TimeUtils.millis();
+        if (now - lastPlayed[sound] < COOLDOWNS[sound]) return;
+
+        // Take a free voice, or cut the one that will end first
+        int voice = 0;
+        for (int i = 0; i < MAX_VOICES; i++) {
+            if (voiceEnds[i] <= now) {
+                voice = i;
+                break;
+            }
+            if (voiceEnds[i] < voiceEnds[voice]) {
+                voice = i;
+            }
+        }
+        if (voiceEnds[voice] > now) {
+            sounds[voiceSounds[voice]].stop(voiceIds[voice]);
+        }
+
+        long id = sounds[sound].play(volume * soundVolume, pitch, pan);
+        if (id == -1) {
+            // The backend had no voice left either
+            voiceEnds[voice] = 0;
+            return;
+        }
+        voiceSounds[voice] = sound;
+        voiceIds[voice] = id;
+        voiceEnds[voice] = now + LENGTHS[sound];
+        lastPlayed[sound] = now;
+    }
+
+    public void playMusic() {
+        music.play();
+    }
+
+    public void pauseMusic() {
+        music.pause();
+    }
+
+    public void stop() {
+        music.stop();
+        for (Sound sound : sounds) {
+            sound.stop();
+        }
+        for (int i = 0; i < MAX_VOICES; i++) {
+            voiceEnds[i] = 0;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.hbazai.fighter.net;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * In-process {@link Transport} for testing online play on a single machine. Packets sent by one end are delivered to the
+ * other after a simulated latency with jitter, and a share of them is dropped.
+ */
+public class LoopbackTransport implements Transport {
+    private static class Packet {
+        final byte[] data = new byte[MAX_PACKET_SIZE];
+        int length;
+        long deliveryNanos;
+    }
+
+    // Shared by both ends, so everything touching it synchronizes on it
+    private static class Link {
+        final RandomXS128 random;
+        final Pool<Packet> pool = new Pool<Packet>() {
+            @Override
+            protected Packet newObject() {
+                return new Packet();
+            }
+        };
+
+        Link(long seed) {
+            random = new RandomXS128(seed);
+        }
+    }
+
+    private final Link link;
+    private final long latencyNanos, jitterNanos;
+    private final float lossRate;
+
+    // Packets on their way to this end
+    private final Array<Packet> incoming = new Array<>(false, 64);
+    private LoopbackTransport remote;
+
+    private LoopbackTransport(Link link, int latencyMillis, int jitterMillis, float lossRate) {
+        this.link = link;
+        this.latencyNanos = latencyMillis * 1_000_000L;
+        this.jitterNanos = jitterMillis * 1_000_000L;
+        this.lossRate = lossRate;
+    }
+
+    /**
+     * Creates both ends of a link. Latency is one way, jitter is added on top of it at random.
+     */
+    public static LoopbackTransport[] createPair(int latencyMillis, int jitterMillis, float lossRate, long seed) {
+        Link link = new Link(seed);
+        LoopbackTransport first = new LoopbackTransport(link, latencyMillis, jitterMillis, lossRate);
+        LoopbackTransport second = new LoopbackTransport(link, latencyMillis, jitterMillis, lossRate);
+        first.remote = second;
+        second.remote = first;
+        return new LoopbackTransport[]{first, second};
+    }
+
+    @Override
+    public void send(byte[] data, int length) {
+        synchronized (link) {
+            if (link.random.nextFloat() < lossRate) return;
+
+            Packet packet = link.pool.obtain();
+            System.arraycopy(data, 0, packet.data, 0, length);
+            packet.length = length;
+            packet.deliveryNanos = TimeUtils.nanoTime() + latencyNanos + (long) (link.random.nextFloat() * jitterNanos);
+            remote.incoming.add(packet);
+        }
+    }
+
+    @Override
+    public int receive(byte[] buffer) {
+        synchronized (link) {
+            // Jitter reorders packets, so take whichever one is due
+            long now = TimeUtils.nanoTime();
+            for (int i = 0; i < incoming.size; i++) {
+                Packet packet = incoming.get(i);
+                if (now - packet.deliveryNanos >= 0) {
+                    incoming.removeIndex(i);
+                    System.arraycopy(packet.data, 0, buffer, 0, packet.length);
+                    link.pool.free(packet);
+                    return packet.length;
+                }
+            }
+            return -1;
+        }
+    }
+}
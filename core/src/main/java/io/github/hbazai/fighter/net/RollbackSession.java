@@ -0,0 +1,207 @@
+package io.github.hbazai.fighter.net;
+
+import io.github.hbazai.fighter.simulation.Controls;
+import io.github.hbazai.fighter.simulation.Match;
+import io.github.hbazai.fighter.simulation.MatchSnapshot;
+import io.github.hbazai.fighter.simulation.SimulationRunner;
+
+/**
+ * Rollback netcode for a match against a remote peer. Local input is applied after a short delay and sent to the peer
+ * right away; the remote input is predicted to stay as it was last seen. When the real remote input for a simulated
+ * tick turns out to be different, the match is restored to that tick and simulated again up to the present.
+ * <p>
+ * Both peers run the same match, one of them controls the player and the other one the opponent.
+ */
+public class RollbackSession {
+    // Ticks of local input delay, which hides small latencies without any rollback
+    public static final int INPUT_DELAY = 2;
+
+    // Max ticks the match may run ahead of the last confirmed remote input before it waits for the peer
+    public static final int MAX_ROLLBACK = 8;
+
+    // Inputs and states are kept for this many ticks, a power of two
+    private static final int HISTORY = 64;
+    private static final int MASK = HISTORY - 1;
+
+    // Max inputs repeated in one packet, so a lost packet is covered by the next one
+    private static final int MAX_INPUTS_PER_PACKET = 32;
+    private static final int NO_FRAME = Integer.MIN_VALUE;
+
+    private final Match match;
+    private final Transport transport;
+    private final boolean localIsPlayer;
+
+    private final int[] localInputs = new int[HISTORY];
+    private final int[] remoteInputs = new int[HISTORY];
+    private final int[] predictedInputs = new int[HISTORY];
+    private final MatchSnapshot[] states = new MatchSnapshot[HISTORY];
+
+    private final byte[] packet = new byte[Transport.MAX_PACKET_SIZE];
+
+    // Next tick to simulate
+    private int frame;
+    // Last tick of remote input received, and of local input the peer has acknowledged
+    private int lastRemoteFrame;
+    private int lastAckedFrame;
+
+    private int rollbackFrames;
+    private boolean stalled;
+
+    // Local controls and commands given while the match waited for the peer, added to the next tick that runs
+    private int stalledControls, stalledCommands;
+
+    public RollbackSession(Match match, Transport transport, boolean localIsPlayer) {
+        this.match = match;
+        this.transport = transport;
+        this.localIsPlayer = localIsPlayer;
+        for (int i = 0; i < HISTORY; i++) {
+            states[i] = new MatchSnapshot();
+        }
+        reset();
+    }
+
+    /**
+     * Forgets all inputs, both peers must call this when the match starts.
+     */
+    public void reset() {
+        frame = 0;
+        // The first ticks run on the delay's empty input, which both peers know without being told
+        lastRemoteFrame = INPUT_DELAY - 1;
+        lastAckedFrame = INPUT_DELAY - 1;
+        rollbackFrames = 0;
+        stalled = false;
+        stalledControls = stalledCommands = Controls.NONE;
+        for (int i = 0; i < HISTORY; i++) {
+            localInputs[i] = remoteInputs[i] = predictedInputs[i] = Controls.NONE;
+        }
+    }
+
+    /**
+     * Runs one tick with the given local controls and commands. The match does not advance while it waits for the peer,
+     * what is given meanwhile is kept for the next tick that runs, so a tap or a command is not lost to a stall.
+     */
+    public void advance(int controls, int commands) {
+        int firstMismatch = receive();
+        if (firstMismatch != NO_FRAME) {
+            rollback(firstMismatch);
+        } else {
+            rollbackFrames = 0;
+        }
+
+        // Wait instead of running further ahead of the peer than a rollback can repair
+        stalled = frame - lastRemoteFrame > MAX_ROLLBACK;
+        if (stalled) {
+            stalledControls |= controls;
+            stalledCommands |= commands;
+        } else {
+            controls |= stalledControls;
+            commands |= stalledCommands;
+            stalledControls = stalledCommands = Controls.NONE;
+            localInputs[(frame + INPUT_DELAY) & MASK] = controls | commands << Controls.COMMAND_SHIFT;
+            step(frame);
+            frame++;
+        }
+        send();
+    }
+
+    public int getFrame() {
+        return frame;
+    }
+
+    /**
+     * Ticks simulated again in the last call to {@link #advance(int, int)}.
+     */
+    public int getRollbackFrames() {
+        return rollbackFrames;
+    }
+
+    public boolean isStalled() {
+        return stalled;
+    }
+
+    private void rollback(int fromFrame) {
+        match.readSnapshot(states[fromFrame & MASK]);
+        rollbackFrames = frame - fromFrame;
+        // Those ticks already published their events when they were predicted
+        match.setEventsMuted(true);
+        for (int f = fromFrame; f < frame; f++) {
+            step(f);
+        }
+        match.setEventsMuted(false);
+    }
+
+    private void step(int f) {
+        match.writeSnapshot(states[f & MASK]);
+
+        int local = localInputs[f & MASK];
+        int remote;
+        if (f <= lastRemoteFrame) {
+            remote = remoteInputs[f & MASK];
+        } else {
+            // Predict that the peer still holds whatever it held last
+            remote = remoteInputs[lastRemoteFrame & MASK];
+        }
+        predictedInputs[f & MASK] = remote;
+
+        int player = localIsPlayer ? local : remote;
+        int opponent = localIsPlayer ? remote : local;
+        match.applyCommands((local | remote) >>> Controls.COMMAND_SHIFT);
+        match.update(SimulationRunner.STEP, player & Controls.ALL, opponent & Controls.ALL);
+    }
+
+    // Packet: acknowledged frame, first frame, input count, then two bytes per input
+    private void send() {
+        int first = Math.max(lastAckedFrame + 1, frame + INPUT_DELAY - MAX_INPUTS_PER_PACKET + 1);
+        int count = frame + INPUT_DELAY - first;
+        int length = 0;
+        length = writeInt(packet, length, lastRemoteFrame);
+        length = writeInt(packet, length, first);
+        packet[length++] = (byte) count;
+        for (int f = first; f < first + count; f++) {
+            int input = localInputs[f & MASK];
+            packet[length++] = (byte) (input >>> 8);
+            packet[length++] = (byte) input;
+        }
+        transport.send(packet, length);
+    }
+
+    /**
+     * Reads all pending packets and returns the earliest simulated tick whose prediction turned out wrong, if any.
+     */
+    private int receive() {
+        int firstMismatch = NO_FRAME;
+        int length;
+        while ((length = transport.receive(packet)) >= 0) {
+            if (length < 9) continue;
+            lastAckedFrame = Math.max(lastAckedFrame, readInt(packet, 0));
+
+            int first = readInt(packet, 4);
+            int count = packet[8] & 0xff;
+            if (length < 9 + count * 2) continue;
+            for (int i = 0; i < count; i++) {
+                int f = first + i;
+                // Only take the next missing input, older ones are duplicates and later ones would leave a gap
+                if (f != lastRemoteFrame + 1) continue;
+                int input = (packet[9 + i * 2] & 0xff) << 8 | packet[10 + i * 2] & 0xff;
+                remoteInputs[f & MASK] = input;
+                lastRemoteFrame = f;
+                if (f < frame && input != predictedInputs[f & MASK] && firstMismatch == NO_FRAME) {
+                    firstMismatch = f;
+                }
+            }
+        }
+        return firstMismatch;
+    }
+
+    private static int writeInt(byte[] data, int offset, int value) {
+        data[offset] = (byte) (value >>> 24);
+        data[offset + 1] = (byte) (value >>> 16);
+        data[offset + 2] = (byte) (value >>> 8);
+        data[offset + 3] = (byte) value;
+        return offset + 4;
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return (data[offset] & 0xff) << 24 | (data[offset + 1] & 0xff) << 16 | (data[offset + 2] & 0xff) << 8 | data[offset + 3] & 0xff;
+    }
+}
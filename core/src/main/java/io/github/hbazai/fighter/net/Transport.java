@@ -0,0 +1,17 @@
+package io.github.hbazai.fighter.net;
+
+/**
+ * Unreliable, unordered datagram link to the remote peer, in the spirit of UDP. Packets may be dropped, duplicated or
+ * arrive out of order; {@link RollbackSession} copes with all three.
+ */
+public interface Transport {
+    // Largest packet the session sends, implementations must accept at least this many bytes
+    int MAX_PACKET_SIZE = 128;
+
+    void send(byte[] data, int length);
+
+    /**
+     * Copies the next received packet into the buffer and returns its length, or -1 if there is none.
+     */
+    int receive(byte[] buffer);
+}
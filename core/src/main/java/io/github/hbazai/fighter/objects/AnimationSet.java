@@ -0,0 +1,161 @@
+package io.github.hbazai.fighter.objects;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import io.github.hbazai.fighter.resources.Assets;
+import io.github.hbazai.fighter.resources.GlobalVariables;
+
+/**
+ * Immutable animations of every fighter {@link Fighter.State}. Sets are built once per atlas by a {@link Cache} and
+ * shared by all fighters using that atlas, so adding fighters does not look the frames up again.
+ * <p>
+ * Each frame of a sprite sheet is packed as its own region, indexed by its place in the sheet, with the transparent
+ * border stripped and repeated frames stored once. Frames are drawn with {@link #draw} so the stripped border is
+ * still accounted for.
+ */
+public class AnimationSet {
+    // Number of frames in each animation, the sprite sheets are cut into 2 rows of 3 frames when they are packed
+    public static final int FRAMES = 6;
+
+    // Sprite sheet, frame duration and looping of each state, indexed by State.ordinal()
+    private static final String[] SPRITE_SHEETS = {
+        Assets.BLOCK_SPRITE_SHEET,
+        Assets.HURT_SPRITE_SHEET,
+        Assets.IDLE_SPRITE_SHEET,
+        Assets.KICK_SPRITE_SHEET,
+        Assets.LOSE_SPRITE_SHEET,
+        Assets.PUNCH_SPRITE_SHEET,
+        Assets.WALK_SPRITE_SHEET,
+        Assets.WIN_SPRITE_SHEET
+    };
+    private static final float[] FRAME_DURATIONS = {0.03f, 0.05f, 0.1f, 0.05f, 0.05f, 0.05f, 0.08f, 0.05f};
+    private static final boolean[] LOOPING = {true, false, true, false, false, false, true, true};
+
+    private static final Fighter.State[] STATES = Fighter.State.values();
+
+    private final Animation<AtlasRegion>[] animations;
+
+    private AnimationSet(Cache cache, TextureAtlas atlas) {
+        // Java can't create generic arrays, only this creation is unchecked
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Animation<AtlasRegion>[] animations = (Animation<AtlasRegion>[]) new Animation[STATES.length];
+        this.animations = animations;
+        for (int i = 0; i < STATES.length; i++) {
+            animations[i] = cache.getAnimation(atlas, SPRITE_SHEETS[i], FRAME_DURATIONS[i]);
+        }
+    }
+
+    public Animation<AtlasRegion> get(Fighter.State state) {
+        return animations[state.ordinal()];
+    }
+
+    public AtlasRegion getKeyFrame(Fighter.State state, float stateTime) {
+        return animations[state.ordinal()].getKeyFrame(stateTime, LOOPING[state.ordinal()]);
+    }
+
+    // Index of the frame shown at the given time, the same frame getKeyFrame returns
+    public static int getFrameIndex(Fighter.State state, float stateTime) {
+        int i = state.ordinal();
+        int frame = (int) (stateTime / FRAME_DURATIONS[i]);
+        return LOOPING[i] ? frame % FRAMES : Math.min(frame, FRAMES - 1);
+    }
+
+    public boolean isAnimationFinished(Fighter.State state, float stateTime) {
+        return animations[state.ordinal()].isAnimationFinished(stateTime);
+    }
+
+    /**
+     * The frames of a sprite sheet in the order they play. The atlas lists repeated frames after the ones they repeat,
+     * so the regions are placed by their index.
+     */
+    public static AtlasRegion[] getAnimationFrames(TextureAtlas atlas, String spriteSheet) {
+        Array<AtlasRegion> regions = atlas.findRegions(spriteSheet);
+        if (regions.size != FRAMES) {
+            throw new GdxRuntimeException("Sprite sheet " + spriteSheet + " has " + regions.size + " frames, expected " + FRAMES);
+        }
+
+        AtlasRegion[] frames = new AtlasRegion[FRAMES];
+        for (int i = 0; i < regions.size; i++) {
+            AtlasRegion region = regions.get(i);
+            frames[region.index] = region;
+        }
+        return frames;
+    }
+
+    /**
+     * Draws a frame at the bottom left corner of the whole sheet frame, mirrored around its center when facing is -1.
+     */
+    public static void draw(Batch batch, AtlasRegion frame, float x, float y, float facing) {
+        float offsetX = frame.offsetX * GlobalVariables.WORLD_SCALE;
+        float offsetY = frame.offsetY * GlobalVariables.WORLD_SCALE;
+        batch.draw(
+            frame,
+            x + offsetX,
+            y + offsetY,
+            frame.originalWidth * GlobalVariables.WORLD_SCALE * 0.5f - offsetX,
+            -offsetY,
+            frame.packedWidth * GlobalVariables.WORLD_SCALE,
+            frame.packedHeight * GlobalVariables.WORLD_SCALE,
+            facing,
+            1,
+            0
+        );
+    }
+
+    /**
+     * Builds animations keyed by the first frame of their sprite sheet and by frame duration, and animation sets keyed
+     * by atlas, exactly once. Must be cleared when the atlases it has seen are unloaded.
+     */
+    public static class Cache {
+        private final ObjectMap<AtlasRegion, IntMap<Animation<AtlasRegion>>> animations = new ObjectMap<>();
+        private final ObjectMap<TextureAtlas, AnimationSet> sets = new ObjectMap<>();
+
+        public AnimationSet get(TextureAtlas atlas) {
+            AnimationSet set = sets.get(atlas);
+            if (set == null) {
+                set = new AnimationSet(this, atlas);
+                sets.put(atlas, set);
+            }
+            return set;
+        }
+
+        public Animation<AtlasRegion> getAnimation(TextureAtlas atlas, String spriteSheet, float frameDuration) {
+            AtlasRegion firstFrame = atlas.findRegion(spriteSheet);
+            IntMap<Animation<AtlasRegion>> byDuration = animations.get(firstFrame);
+            if (byDuration == null) {
+                byDuration = new IntMap<>();
+                animations.put(firstFrame, byDuration);
+            }
+
+            int key = Float.floatToIntBits(frameDuration);
+            Animation<AtlasRegion> animation = byDuration.get(key);
+            if (animation == null) {
+                animation = new Animation<>(frameDuration, getAnimationFrames(atlas, spriteSheet));
+                byDuration.put(key, animation);
+            }
+            return animation;
+        }
+
+        /**
+         * Forgets the animations of an atlas that has been unloaded.
+         */
+        public void remove(TextureAtlas atlas) {
+            if (sets.remove(atlas) == null) return;
+            for (String spriteSheet : SPRITE_SHEETS) {
+                animations.remove(atlas.findRegion(spriteSheet));
+            }
+        }
+
+        public void clear() {
+            animations.clear();
+            sets.clear();
+        }
+    }
+}
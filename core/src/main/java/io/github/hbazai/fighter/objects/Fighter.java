@@ -1,23 +1,18 @@
 package io.github.hbazai.fighter.objects;
 
-import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 
 import io.github.hbazai.fighter.FighterGame;
 import io.github.hbazai.fighter.resources.Assets;
-import io.github.hbazai.fighter.resources.GlobalVariables;
+import io.github.hbazai.fighter.resources.Roster;
+import io.github.hbazai.fighter.simulation.FighterSnapshot;
 
 public class Fighter {
-    // Number of framw rows and columns in each animation
-    // This is because the images that we are going to use i this game
-    // are combinination of character movement images
-    private static final int FRAME_ROWS = 2, FRAME_COLS = 3;
-
     // Figther speed of movement
     public static final float MOVEMENT_SPEED = 10f;
 
@@ -48,8 +43,6 @@ public class Fighter {
 
     private State state;
     private float stateTime;
-    private State renderState;
-    private float renderStateTime;
 
     private final Vector2 position = new Vector2();
     private final Vector2 movementDirection = new Vector2();
@@ -58,29 +51,56 @@ public class Fighter {
     private int facing;
     private boolean madeContact;
 
-    // Animations
-    private Animation<TextureRegion> blockAnimation;
-    private Animation<TextureRegion> hurtAnimation;
-    private Animation<TextureRegion> idleAnimation;
-    private Animation<TextureRegion> kickAnimation;
-    private Animation<TextureRegion> loseAnimation;
-    private Animation<TextureRegion> punchAnimation;
-    private Animation<TextureRegion> walkAnimation;
-    private Animation<TextureRegion> winAnimation;
+    // Incremented every time the fighter is reset, so the renderer does not interpolate across a reset
+    private int generation;
+
+    // Interpolated view of the simulation, only touched by the render thread
+    private State renderState = State.IDLE;
+    private float renderStateTime;
+    private final Vector2 renderPosition = new Vector2();
+    private int renderFacing = 1;
+
+    // Character played
+    private Roster.Character character;
+
+    // Animations, shared with every other fighter
+    private AnimationSet animations;
+
+    // Hitboxes and hurtboxes of every animation frame
+    private FrameData frameData;
 
     public Fighter(FighterGame game, String name, Color color) {
-        this.name = name;
-        this.color = color;
+        this(game, new Roster.Character(name, color));
+    }
+
+    public Fighter(FighterGame game, Roster.Character character) {
+        setCharacter(game, character);
+    }
+
+    public Roster.Character getCharacter() {
+        return character;
+    }
+
+    /**
+     * Plays the fighter as another character.
+     */
+    public void setCharacter(FighterGame game, Roster.Character character) {
+        this.character = character;
+        setName(character.name);
+        setColor(character.color);
 
         // Init ANimations
-        initializeBlockAnimation(game.assets.manager);
-        initializeHurtAnimation(game.assets.manager);
-        initializeIdleAnimation(game.assets.manager);
-        initializeKickAnimation(game.assets.manager);
-        initializeLoseAnimation(game.assets.manager);
-        initializePunchAnimation(game.assets.manager);
-        initializeWalkAnimation(game.assets.manager);
-        initializeWinAnimation(game.assets.manager);
+        updateAnimations(game);
+        frameData = game.assets.manager.get(Assets.FRAME_DATA, FrameData.class);
+    }
+
+    /**
+     * Looks the animations up again, after the gameplay atlas was evicted and loaded again. The new set has the same
+     * durations, so the simulation may keep ticking meanwhile.
+     */
+    public void updateAnimations(FighterGame game) {
+        TextureAtlas atlas = game.assets.manager.get(Assets.GAMEPLAY_ATLAS, TextureAtlas.class);
+        animations = game.assets.animations.get(atlas);
     }
 
     public String getName() {
@@ -107,57 +127,85 @@ public class Fighter {
         return life;
     }
 
+    public State getState() {
+        return state;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public Vector2 getRenderPosition() {
+        return renderPosition;
+    }
+
     public void getReady(float positionX, float positionY) {
-        state = renderState = State.IDLE;
-        stateTime = renderStateTime = 0f;
+        state = State.IDLE;
+        stateTime = 0f;
         position.set(positionX, positionY);
         movementDirection.set(0, 0);
         life = MAX_LIFE;
         madeContact = false;
+        generation++;
+    }
+
+    public void writeSnapshot(FighterSnapshot snapshot) {
+        snapshot.state = state;
+        snapshot.stateTime = stateTime;
+        snapshot.x = position.x;
+        snapshot.y = position.y;
+        snapshot.facing = facing;
+        snapshot.life = life;
+        snapshot.generation = generation;
+        snapshot.movementX = movementDirection.x;
+        snapshot.movementY = movementDirection.y;
+        snapshot.madeContact = madeContact;
+    }
+
+    public void readSnapshot(FighterSnapshot snapshot) {
+        state = snapshot.state;
+        stateTime = snapshot.stateTime;
+        position.set(snapshot.x, snapshot.y);
+        facing = snapshot.facing;
+        life = snapshot.life;
+        generation = snapshot.generation;
+        movementDirection.set(snapshot.movementX, snapshot.movementY);
+        madeContact = snapshot.madeContact;
+    }
+
+    public void interpolate(FighterSnapshot previous, FighterSnapshot current, float alpha) {
+        // Don't blend across a reset, the fighter has been teleported to its start position
+        if (previous.generation != current.generation) {
+            alpha = 1f;
+        }
+
+        renderState = current.state;
+        if (previous.state == current.state && previous.stateTime <= current.stateTime) {
+            renderStateTime = previous.stateTime + (current.stateTime - previous.stateTime) * alpha;
+        } else {
+            renderStateTime = current.stateTime;
+        }
+        renderPosition.set(
+            previous.x + (current.x - previous.x) * alpha,
+            previous.y + (current.y - previous.y) * alpha
+        );
+        renderFacing = current.facing;
+    }
+
+    public AtlasRegion getCurrentFrame() {
+        return animations.getKeyFrame(renderState, renderStateTime);
+    }
+
+    public void renderBoxes(SpriteBatch batch, TextureRegion white) {
+        frameData.render(batch, white, renderState, AnimationSet.getFrameIndex(renderState, renderStateTime), renderPosition.x, renderPosition.y, renderFacing);
     }
 
     public void render(SpriteBatch batch) {
         // Get the current animation frame
-        TextureRegion currentFrame;
-        switch (renderState) {
-            case BLOCK:
-                currentFrame = blockAnimation.getKeyFrame(renderStateTime, true);
-                break;
-            case HURT:
-                currentFrame = hurtAnimation.getKeyFrame(renderStateTime, false);
-                break;
-            case IDLE:
-                currentFrame = idleAnimation.getKeyFrame(renderStateTime, true);
-                break;
-            case KICK:
-                currentFrame = kickAnimation.getKeyFrame(renderStateTime, false);
-                break;
-            case LOSE:
-                currentFrame = loseAnimation.getKeyFrame(renderStateTime, false);
-                break;
-            case PUNCH:
-                currentFrame = punchAnimation.getKeyFrame(renderStateTime, false);
-                break;
-            case WALK:
-                currentFrame = walkAnimation.getKeyFrame(renderStateTime, true);
-                break;
-            default:
-                currentFrame = winAnimation.getKeyFrame(renderStateTime, true);
-        }
+        AtlasRegion currentFrame = getCurrentFrame();
 
         batch.setColor(color);
-        batch.draw(
-            currentFrame,
-            position.x,
-            position.y,
-            currentFrame.getRegionWidth() * GlobalVariables.WORLD_SCALE * 0.5f,
-            0,
-            currentFrame.getRegionWidth() * GlobalVariables.WORLD_SCALE,
-            currentFrame.getRegionHeight() * GlobalVariables.WORLD_SCALE,
-            facing,
-            1,
-            0
-        );
+        AnimationSet.draw(batch, currentFrame, renderPosition.x, renderPosition.y, renderFacing);
         batch.setColor(1, 1, 1, 1);
 
     }
@@ -166,20 +214,13 @@ public class Fighter {
         // increment the state time by deltaTime
         stateTime += deltaTime;
 
-        // Only update the render state if delta time is greater than zero
-        if (deltaTime > 0) {
-            renderState = state;
-            renderStateTime = stateTime;
-        }
-
         if (state == State.WALK) {
             // if the fighter is walking, move in the direction of the movement direction vector
             position.x += movementDirection.x * MOVEMENT_SPEED * deltaTime;
             position.y += movementDirection.y * MOVEMENT_SPEED * deltaTime;
         } else if (
-            (state == State.PUNCH && punchAnimation.isAnimationFinished(stateTime)) ||
-                (state == State.KICK && kickAnimation.isAnimationFinished(stateTime)) ||
-                (state == State.HURT && hurtAnimation.isAnimationFinished(stateTime))
+            (state == State.PUNCH || state == State.KICK || state == State.HURT) &&
+                animations.isAnimationFinished(state, stateTime)
         ) {
             // if the animation has finished and the movement direction is set, start walking, otherwise, go to IDLE
             if (movementDirection.x != 0 || movementDirection.y != 0) {
@@ -299,17 +340,16 @@ public class Fighter {
     }
 
     public boolean isAttackActive() {
-        // The attack is only active if the fighter has not made the contact and the attack ...
-        // ... animation has not just started or is almost finish
-        if (hasMadeContact()) {
-            return false;
-        } else if (state == State.PUNCH) {
-            return stateTime > punchAnimation.getAnimationDuration() * 0.33f && stateTime < punchAnimation.getAnimationDuration() * 0.66f;
-        } else if (state == State.KICK) {
-            return stateTime > kickAnimation.getAnimationDuration() * 0.33f && stateTime < kickAnimation.getAnimationDuration() * 0.66f;
-        } else {
-            return false;
-        }
+        // The attack is only active if the fighter has not made the contact and the current frame has a hitbox
+        return !hasMadeContact() && frameData.hasHitbox(state, AnimationSet.getFrameIndex(state, stateTime));
+    }
+
+    public boolean canHit(Fighter target) {
+        // Whether a hitbox of the current frame overlaps a hurtbox of the target's current frame
+        return frameData.hits(
+            state, AnimationSet.getFrameIndex(state, stateTime), position.x, position.y, facing,
+            target.state, AnimationSet.getFrameIndex(target.state, target.stateTime), target.position.x, target.position.y, target.facing
+        );
     }
 
     public void getHit(float damage) {
@@ -343,71 +383,4 @@ public class Fighter {
     public boolean isAttacking() {
         return state == State.PUNCH || state == State.KICK;
     }
-
-    private void initializeBlockAnimation(AssetManager assetManager) {
-        Texture spriteSheet = assetManager.get(Assets.BLOCK_SPRITE_SHEET);
-        TextureRegion[] frames = getAnimationFrames(spriteSheet);
-        blockAnimation = new Animation<>(0.03f, frames);
-    }
-
-    private void initializeHurtAnimation(AssetManager assetManager) {
-        Texture spriteSheet = assetManager.get(Assets.HURT_SPRITE_SHEET);
-        TextureRegion[] frames = getAnimationFrames(spriteSheet);
-        hurtAnimation = new Animation<>(0.05f, frames);
-    }
-
-    private void initializeIdleAnimation(AssetManager assetManager) {
-        Texture spriteSheet = assetManager.get(Assets.IDLE_SPRITE_SHEET);
-        TextureRegion[] frames = getAnimationFrames(spriteSheet);
-        idleAnimation = new Animation<>(0.1f, frames);
-    }
-
-    private void initializeKickAnimation(AssetManager assetManager) {
-        Texture spriteSheet = assetManager.get(Assets.KICK_SPRITE_SHEET);
-        TextureRegion[] frames = getAnimationFrames(spriteSheet);
-        kickAnimation = new Animation<>(0.05f, frames);
-    }
-
-    private void initializeLoseAnimation(AssetManager assetManager) {
-        Texture spriteSheet = assetManager.get(Assets.LOSE_SPRITE_SHEET);
-        TextureRegion[] frames = getAnimationFrames(spriteSheet);
-        loseAnimation = new Animation<>(0.05f, frames);
-    }
-
-    private void initializePunchAnimation(AssetManager assetManager) {
-        Texture spriteSheet = assetManager.get(Assets.PUNCH_SPRITE_SHEET);
-        TextureRegion[] frames = getAnimationFrames(spriteSheet);
-        punchAnimation = new Animation<>(0.05f, frames);
-    }
-
-    private void initializeWalkAnimation(AssetManager assetManager) {
-        Texture spriteSheet = assetManager.get(Assets.WALK_SPRITE_SHEET);
-        TextureRegion[] frames = getAnimationFrames(spriteSheet);
-        walkAnimation = new Animation<>(0.08f, frames);
-    }
-
-    private void initializeWinAnimation(AssetManager assetManager) {
-        Texture spriteSheet = assetManager.get(Assets.WIN_SPRITE_SHEET);
-        TextureRegion[] frames = getAnimationFrames(spriteSheet);
-        winAnimation = new Animation<>(0.05f, frames);
-    }
-
-
-    private TextureRegion[] getAnimationFrames(Texture spriteSheet) {
-        TextureRegion[][] temp = TextureRegion.split(
-            spriteSheet,
-            spriteSheet.getWidth() / FRAME_COLS,
-            spriteSheet.getHeight() / FRAME_ROWS
-        );
-
-        TextureRegion[] frames = new TextureRegion[FRAME_ROWS * FRAME_COLS];
-        int index = 0;
-        for (int i = 0; i < FRAME_ROWS; i++) {
-            for (int j = 0; j < FRAME_COLS; j++) {
-                frames[index++] = temp[i][j];
-            }
-        }
-
-        return frames;
-    }
 }
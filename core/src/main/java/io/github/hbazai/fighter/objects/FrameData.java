@@ -0,0 +1,207 @@
+package io.github.hbazai.fighter.objects;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+import io.github.hbazai.fighter.resources.GlobalVariables;
+
+/**
+ * Hitboxes and hurtboxes of every animation frame of every {@link Fighter.State}, compiled from the authored json into
+ * flat arrays indexed by state and frame. An attack lands when one of the attacker's hitboxes overlaps one of the
+ * target's hurtboxes, and the fighters are no further apart in depth than {@link #getDepth()}.
+ * <p>
+ * Boxes are authored in pixels of the sprite frame facing right, as [left, bottom, right, top] from the bottom left
+ * corner of the frame. A state lists the boxes of all of its frames, and an entry of its frames array replaces them for
+ * that frame only. Compiled boxes are in world units relative to the fighter position, and are mirrored around the
+ * middle of the frame when the fighter faces left.
+ */
+public class FrameData {
+    private static final Fighter.State[] STATES = Fighter.State.values();
+    private static final int FRAMES = AnimationSet.FRAMES;
+
+    private static final String HIT = "hit";
+    private static final String HURT = "hurt";
+
+    private static final Color HIT_COLOR = new Color(1f, 0.2f, 0.2f, 0.9f);
+    private static final Color HURT_COLOR = new Color(0.2f, 1f, 0.3f, 0.9f);
+
+    // Box ranges of each state and frame, boxes of frame i are from start[i] to start[i + 1]
+    private final int[] hitStart = new int[STATES.length * FRAMES + 1];
+    private final int[] hurtStart = new int[STATES.length * FRAMES + 1];
+
+    // Left, bottom, right and top of each box, in world units facing right
+    private final float[] hitBoxes;
+    private final float[] hurtBoxes;
+
+    // Frame width in world units, to mirror the boxes, and the depth within which fighters can touch
+    private final float width;
+    private final float depth;
+
+    // Largest horizontal distance between two fighters at which any of their boxes can overlap
+    private final float reach;
+
+    public FrameData(JsonValue root) {
+        float scale = GlobalVariables.WORLD_SCALE;
+        width = root.getFloat("frameWidth") * scale;
+        depth = root.getFloat("depth");
+
+        JsonValue states = root.get("states");
+        FloatArray hit = new FloatArray(), hurt = new FloatArray();
+        for (int s = 0; s < STATES.length; s++) {
+            JsonValue state = states.get(STATES[s].name());
+            JsonValue frames = state == null ? null : state.get("frames");
+            if (frames != null && frames.size != FRAMES) {
+                throw new GdxRuntimeException(STATES[s] + " must have " + FRAMES + " frames, has " + frames.size);
+            }
+
+            for (int f = 0; f < FRAMES; f++) {
+                int frame = s * FRAMES + f;
+                JsonValue override = frames == null ? null : frames.get(f);
+                hitStart[frame] = hit.size / 4;
+                compileBoxes(state, override, HIT, scale, hit);
+                hurtStart[frame] = hurt.size / 4;
+                compileBoxes(state, override, HURT, scale, hurt);
+            }
+        }
+        hitStart[hitStart.length - 1] = hit.size / 4;
+        hurtStart[hurtStart.length - 1] = hurt.size / 4;
+        hitBoxes = hit.toArray();
+        hurtBoxes = hurt.toArray();
+
+        // Any box facing either way lies within this span, so boxes further apart than its width never overlap
+        float min = width, max = 0f;
+        for (float[] boxes : new float[][]{hitBoxes, hurtBoxes}) {
+            for (int i = 0; i < boxes.length; i += 4) {
+                min = Math.min(min, Math.min(boxes[i], width - boxes[i + 2]));
+                max = Math.max(max, Math.max(boxes[i + 2], width - boxes[i]));
+            }
+        }
+        reach = Math.max(max - min, 0f);
+    }
+
+    private static void compileBoxes(JsonValue state, JsonValue override, String kind, float scale, FloatArray out) {
+        JsonValue boxes = override != null && override.has(kind) ? override.get(kind) : state == null ? null : state.get(kind);
+        if (boxes == null) return;
+        for (JsonValue box = boxes.child; box != null; box = box.next) {
+            float[] values = box.asFloatArray();
+            if (values.length != 4 || values[0] > values[2] || values[1] > values[3]) {
+                throw new GdxRuntimeException("Invalid " + kind + " box " + box + " of " + state.name);
+            }
+            for (float value : values) {
+                out.add(value * scale);
+            }
+        }
+    }
+
+    public float getDepth() {
+        return depth;
+    }
+
+    public float getReach() {
+        return reach;
+    }
+
+    public boolean hasHitbox(Fighter.State state, int frame) {
+        int i = state.ordinal() * FRAMES + frame;
+        return hitStart[i] != hitStart[i + 1];
+    }
+
+    /**
+     * Whether a hitbox of the attacker's frame overlaps a hurtbox of the target's frame. Facings are 1 for right and
+     * -1 for left.
+     */
+    public boolean hits(
+        Fighter.State state, int frame, float x, float y, int facing,
+        Fighter.State targetState, int targetFrame, float targetX, float targetY, int targetFacing
+    ) {
+        if (Math.abs(targetY - y) > depth) return false;
+
+        int hit = state.ordinal() * FRAMES + frame;
+        int hurt = targetState.ordinal() * FRAMES + targetFrame;
+        int hurtFrom = hurtStart[hurt] * 4, hurtTo = hurtStart[hurt + 1] * 4;
+        for (int i = hitStart[hit] * 4, end = hitStart[hit + 1] * 4; i < end; i += 4) {
+            float left = x + (facing > 0 ? hitBoxes[i] : width - hitBoxes[i + 2]);
+            float right = x + (facing > 0 ? hitBoxes[i + 2] : width - hitBoxes[i]);
+            for (int j = hurtFrom; j < hurtTo; j += 4) {
+                float targetLeft = targetX + (targetFacing > 0 ? hurtBoxes[j] : width - hurtBoxes[j + 2]);
+                float targetRight = targetX + (targetFacing > 0 ? hurtBoxes[j + 2] : width - hurtBoxes[j]);
+                if (left <= targetRight && targetLeft <= right
+                    && hitBoxes[i + 1] <= hurtBoxes[j + 3] && hurtBoxes[j + 1] <= hitBoxes[i + 3]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Outlines the boxes of a frame, hurtboxes in green and hitboxes in red, by stretching the white region.
+     */
+    public void render(SpriteBatch batch, TextureRegion white, Fighter.State state, int frame, float x, float y, int facing) {
+        int i = state.ordinal() * FRAMES + frame;
+        batch.setColor(HURT_COLOR);
+        renderBoxes(batch, white, hurtBoxes, hurtStart[i], hurtStart[i + 1], x, y, facing);
+        batch.setColor(HIT_COLOR);
+        renderBoxes(batch, white, hitBoxes, hitStart[i], hitStart[i + 1], x, y, facing);
+        batch.setColor(Color.WHITE);
+    }
+
+    private void renderBoxes(SpriteBatch batch, TextureRegion white, float[] boxes, int from, int to, float x, float y, int facing) {
+        float line = GlobalVariables.WORLD_SCALE * 2f;
+        for (int i = from * 4; i < to * 4; i += 4) {
+            float left = x + (facing > 0 ? boxes[i] : width - boxes[i + 2]);
+            float boxWidth = boxes[i + 2] - boxes[i];
+            float bottom = y + boxes[i + 1];
+            float boxHeight = boxes[i + 3] - boxes[i + 1];
+            batch.draw(white, left, bottom, boxWidth, line);
+            batch.draw(white, left, bottom + boxHeight - line, boxWidth, line);
+            batch.draw(white, left, bottom, line, boxHeight);
+            batch.draw(white, left + boxWidth - line, bottom, line, boxHeight);
+        }
+    }
+
+    /**
+     * Compiles the frame data json off the render thread.
+     */
+    public static class Loader extends AsynchronousAssetLoader<FrameData, Loader.Parameters> {
+        private FrameData frameData;
+
+        public Loader(FileHandleResolver resolver) {
+            super(resolver);
+        }
+
+        @Override
+        public void loadAsync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+            frameData = new FrameData(new JsonReader().parse(file));
+        }
+
+        @Override
+        public FrameData loadSync(AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+            FrameData result = frameData;
+            frameData = null;
+            return result;
+        }
+
+        // The raw descriptor type comes from AssetLoader, overrides must keep it
+        @SuppressWarnings("rawtypes")
+        @Override
+        public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, Parameters parameter) {
+            return null;
+        }
+
+        public static class Parameters extends AssetLoaderParameters<FrameData> {
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.hbazai.fighter.replay;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+
+/**
+ * Opens replays on the file system by memory mapping them, so opening a replay does not read it. Only for platforms
+ * with java.nio channels, the web build doesn't compile this class and reads replays with
+ * {@link ReplayReader#open(FileHandle)}.
+ */
+public class MappedReplays {
+    private MappedReplays() {
+    }
+
+    public static ReplayReader open(FileHandle file) {
+        if (file.type() == Files.FileType.Internal || file.type() == Files.FileType.Classpath) {
+            // Packaged files may live inside an archive, where they can't be mapped
+            return ReplayReader.open(file);
+        }
+        try (RandomAccessFile input = new RandomAccessFile(file.file(), "r");
+             FileChannel channel = input.getChannel()) {
+            // The mapping stays valid after the channel is closed
+            return new ReplayReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not open replay " + file, e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.hbazai.fighter.replay;
+
+import io.github.hbazai.fighter.simulation.MatchSnapshot;
+
+/**
+ * Layout of a replay file, all multi-byte numbers except the trailer are unsigned LEB128 varints:
+ * <pre>
+ * magic "FRPL", version byte
+ * header: difficulty, player name, player color, opponent name, opponent color
+ * events: (tick delta &lt;&lt; 2 | changed sides), then the XOR of each changed side's input with its previous input
+ * index: entry count, then per entry tick, event offset, last event tick, player input, opponent input
+ * trailer: index position, tick count and checksum of the final state as big endian ints
+ * </pre>
+ * Names are a varint length followed by UTF-8 bytes, colors are RGBA8888 ints. Inputs are the fighter controls with
+ * the match commands above {@link io.github.hbazai.fighter.simulation.Controls#COMMAND_SHIFT}, and an event is only
+ * written on the ticks where an input changes. The checksum is the {@link MatchSnapshot#checksum()} of the match after
+ * the last tick.
+ */
+final class Replay {
+    static final byte[] MAGIC = {'F', 'R', 'P', 'L'};
+    static final int VERSION = 2;
+
+    // An index entry every this many ticks, so playback can start anywhere without decoding from the beginning
+    static final int INDEX_INTERVAL = 1024;
+
+    static final int PLAYER_CHANGED = 1;
+    static final int OPPONENT_CHANGED = 2;
+
+    static final int TRAILER_SIZE = 12;
+
+    private Replay() {
+    }
+}
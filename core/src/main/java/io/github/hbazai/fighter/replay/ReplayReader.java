@@ -0,0 +1,185 @@
+package io.github.hbazai.fighter.replay;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import io.github.hbazai.fighter.resources.GlobalVariables;
+import io.github.hbazai.fighter.simulation.Controls;
+import io.github.hbazai.fighter.simulation.Match;
+import io.github.hbazai.fighter.simulation.MatchSnapshot;
+import io.github.hbazai.fighter.simulation.SimulationRunner;
+
+/**
+ * Plays back a replay written by {@link ReplayRecorder}, one tick at a time, from a buffer holding the whole file.
+ * Playing it back does not allocate.
+ */
+public class ReplayReader {
+    private final ByteBuffer buffer;
+
+    public final GlobalVariables.Difficulty difficulty;
+    public final String playerName, opponentName;
+    public final Color playerColor = new Color(), opponentColor = new Color();
+
+    private final int eventsStart, eventsEnd;
+    private final int tickCount;
+    private final int checksum;
+    private final int[] index;
+
+    private int tick;
+    private int nextEventTick;
+    private int eventChanged, eventPlayer, eventOpponent;
+    private int playerInput, opponentInput;
+
+    public ReplayReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        for (byte b : Replay.MAGIC) {
+            if (buffer.get() != b) throw new GdxRuntimeException("Not a replay");
+        }
+        int version = buffer.get();
+        if (version != Replay.VERSION) throw new GdxRuntimeException("Unsupported replay version: " + version);
+
+        difficulty = GlobalVariables.Difficulty.values()[readVarint()];
+        playerName = readString();
+        Color.rgba8888ToColor(playerColor, readVarint());
+        opponentName = readString();
+        Color.rgba8888ToColor(opponentColor, readVarint());
+        eventsStart = buffer.position();
+
+        int trailer = buffer.limit() - Replay.TRAILER_SIZE;
+        eventsEnd = buffer.getInt(trailer);
+        tickCount = buffer.getInt(trailer + 4);
+        checksum = buffer.getInt(trailer + 8);
+        buffer.position(eventsEnd);
+        index = new int[readVarint() * 5];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = readVarint();
+        }
+
+        seek(0);
+    }
+
+    /**
+     * Reads the whole replay into memory, which works on every platform. {@link MappedReplays} maps files on the file
+     * system instead, where the platform has memory mapping.
+     */
+    public static ReplayReader open(FileHandle file) {
+        return new ReplayReader(ByteBuffer.wrap(file.readBytes()));
+    }
+
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * The {@link MatchSnapshot#checksum()} of the match when it was recorded, after the last tick.
+     */
+    public int getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Moves playback to the given tick, using the index to skip the events before it.
+     */
+    public void seek(int targetTick) {
+        int entry = Math.min(targetTick / Replay.INDEX_INTERVAL, index.length / 5 - 1) * 5;
+        if (entry < 0) {
+            tick = 0;
+            playerInput = opponentInput = 0;
+            buffer.position(eventsStart);
+            readEvent(0);
+        } else {
+            tick = index[entry];
+            buffer.position(eventsStart + index[entry + 1]);
+            readEvent(index[entry + 2]);
+            playerInput = index[entry + 3];
+            opponentInput = index[entry + 4];
+        }
+        while (tick < targetTick && next()) {
+            // Skip ahead tick by tick from the indexed one
+        }
+    }
+
+    /**
+     * Moves to the next tick and returns false once the replay has ended.
+     */
+    public boolean next() {
+        if (tick >= tickCount) return false;
+        if (tick == nextEventTick) {
+            if ((eventChanged & Replay.PLAYER_CHANGED) != 0) playerInput ^= eventPlayer;
+            if ((eventChanged & Replay.OPPONENT_CHANGED) != 0) opponentInput ^= eventOpponent;
+            readEvent(tick);
+        }
+        tick++;
+        return true;
+    }
+
+    public int getPlayerInput() {
+        return playerInput;
+    }
+
+    public int getOpponentInput() {
+        return opponentInput;
+    }
+
+    /**
+     * Starts the match and drives it with the whole replay as fast as possible. Returns the number of ticks run.
+     */
+    public int play(Match match) {
+        return play(match, tickCount);
+    }
+
+    /**
+     * Starts the match and drives it with the replay up to the given tick, so the match is in its state of that tick.
+     */
+    public int play(Match match, int endTick) {
+        seek(0);
+        match.setDifficulty(difficulty);
+        match.startGame();
+        int ticks = 0;
+        while (tick < endTick && next()) {
+            match.applyCommands(playerInput >>> Controls.COMMAND_SHIFT);
+            match.update(SimulationRunner.STEP, playerInput & Controls.ALL, opponentInput & Controls.ALL);
+            ticks++;
+        }
+        return ticks;
+    }
+
+    private void readEvent(int lastEventTick) {
+        if (buffer.position() >= eventsEnd) {
+            nextEventTick = Integer.MAX_VALUE;
+            return;
+        }
+        int header = readVarint();
+        nextEventTick = lastEventTick + (header >>> 2);
+        eventChanged = header & 3;
+        eventPlayer = (eventChanged & Replay.PLAYER_CHANGED) != 0 ? readVarint() : 0;
+        eventOpponent = (eventChanged & Replay.OPPONENT_CHANGED) != 0 ? readVarint() : 0;
+    }
+
+    private int readVarint() {
+        return readVarint(buffer);
+    }
+
+    static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) return value;
+        }
+    }
+
+    private String readString() {
+        byte[] bytes = new byte[readVarint()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.hbazai.fighter.replay;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.nio.charset.StandardCharsets;
+
+import io.github.hbazai.fighter.objects.Fighter;
+import io.github.hbazai.fighter.simulation.Match;
+import io.github.hbazai.fighter.simulation.MatchSnapshot;
+
+/**
+ * Records the inputs of both fighters tick by tick, see {@link Replay} for the format. Recording only touches a growing
+ * byte array, so it can run on the simulation thread.
+ */
+public class ReplayRecorder {
+    public static final String DIRECTORY = "replays/";
+    public static final String EXTENSION = ".replay";
+
+    private final ByteArray header = new ByteArray();
+    private final ByteArray events = new ByteArray(4096);
+    private final IntArray index = new IntArray();
+    private final MatchSnapshot finalState = new MatchSnapshot();
+
+    private int tick;
+    private int lastEventTick;
+    private int playerInput, opponentInput;
+
+    /**
+     * Starts a new recording of the given match, which is about to start.
+     */
+    public void begin(Match match) {
+        header.clear();
+        events.clear();
+        index.clear();
+        tick = 0;
+        lastEventTick = 0;
+        playerInput = opponentInput = 0;
+
+        header.addAll(Replay.MAGIC);
+        header.add((byte) Replay.VERSION);
+        writeVarint(header, match.getDifficulty().ordinal());
+        writeFighter(header, match.getPlayer());
+        writeFighter(header, match.getOpponent());
+    }
+
+    public void record(int playerInput, int opponentInput) {
+        if (tick % Replay.INDEX_INTERVAL == 0) {
+            index.add(tick);
+            index.add(events.size);
+            index.add(lastEventTick);
+            index.add(this.playerInput);
+            index.add(this.opponentInput);
+        }
+
+        int changed = 0;
+        if (playerInput != this.playerInput) changed |= Replay.PLAYER_CHANGED;
+        if (opponentInput != this.opponentInput) changed |= Replay.OPPONENT_CHANGED;
+        if (changed != 0) {
+            writeVarint(events, (tick - lastEventTick) << 2 | changed);
+            if ((changed & Replay.PLAYER_CHANGED) != 0) writeVarint(events, playerInput ^ this.playerInput);
+            if ((changed & Replay.OPPONENT_CHANGED) != 0) writeVarint(events, opponentInput ^ this.opponentInput);
+            this.playerInput = playerInput;
+            this.opponentInput = opponentInput;
+            lastEventTick = tick;
+        }
+        tick++;
+    }
+
+    public int getTickCount() {
+        return tick;
+    }
+
+    /**
+     * Writes the recording, with the checksum of the match, which must be in its state after the last recorded tick.
+     */
+    public void save(FileHandle file, Match match) {
+        match.writeSnapshot(finalState);
+
+        ByteArray out = new ByteArray(header.size + events.size + index.size * 3 + 16);
+        out.addAll(header);
+        out.addAll(events);
+
+        int indexPosition = out.size;
+        writeVarint(out, index.size / 5);
+        for (int i = 0; i < index.size; i++) {
+            writeVarint(out, index.get(i));
+        }
+        writeInt(out, indexPosition);
+        writeInt(out, tick);
+        writeInt(out, finalState.checksum());
+
+        file.writeBytes(out.items, 0, out.size, false);
+    }
+
+    private static void writeFighter(ByteArray out, Fighter fighter) {
+        byte[] name = fighter.getName().getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, name.length);
+        out.addAll(name);
+        writeVarint(out, Color.rgba8888(fighter.getColor()));
+    }
+
+    static void writeVarint(ByteArray out, int value) {
+        while ((value & ~0x7f) != 0) {
+            out.add((byte) (value & 0x7f | 0x80));
+            value >>>= 7;
+        }
+        out.add((byte) value);
+    }
+
+    private static void writeInt(ByteArray out, int value) {
+        out.add((byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value);
+    }
+}
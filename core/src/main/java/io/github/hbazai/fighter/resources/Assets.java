@@ -1,41 +1,67 @@
 package io.github.hbazai.fighter.resources;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.BitmapFontLoader;
 import com.badlogic.gdx.assets.loaders.FileHandleResolver;
-import com.badlogic.gdx.assets.loaders.TextureLoader;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGeneratorLoader;
 import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.utils.ObjectMap;
 
+import io.github.hbazai.fighter.objects.AnimationSet;
+import io.github.hbazai.fighter.objects.FrameData;
+
 public class Assets {
     // Asset manager
-    public final AssetManager manager = new AssetManager();
+    // Texture pages resolve to their GPU compressed variant when there is one the GPU supports
+    public final AssetManager manager = new AssetManager(
+        new CompressedTextureResolver(new InternalFileHandleResolver(), CompressedTextureResolver.detect())
+    );
 
     // Gameplay Assets
-    public static final String BACKGROUND_TEXTURE = "textures/Background.png";
-    public static final String FRONT_REPOES_TEXTURE = "textures/FrontRopes.png";
+    public static final String GAMEPLAY_ATLAS = "textures/Gameplay.atlas";
     public static final String GAMEPLAY_BUTTONS_ATLAS = "textures/GameplayButtons.atlas";
-    public static final String BLOOD_ATLAS = "textures/Blood.atlas";
 
-    public static final String IDLE_SPRITE_SHEET = "sprites/IdleSpriteSheet.png";
-    public static final String WALK_SPRITE_SHEET = "sprites/WalkSpriteSheet.png";
-    public static final String PUNCH_SPRITE_SHEET = "sprites/PunchSpriteSheet.png";
-    public static final String KICK_SPRITE_SHEET = "sprites/KickSpriteSheet.png";
-    public static final String HURT_SPRITE_SHEET = "sprites/HurtSpriteSheet.png";
-    public static final String BLOCK_SPRITE_SHEET = "sprites/BlockSpriteSheet.png";
-    public static final String WIN_SPRITE_SHEET = "sprites/WinSpriteSheet.png";
-    public static final String LOSE_SPRITE_SHEET = "sprites/LoseSpriteSheet.png";
+    // Regions of the gameplay atlas, packed from raw/gameplay by the packTextures task
+    public static final String BACKGROUND_TEXTURE = "Background";
+    public static final String FRONT_REPOES_TEXTURE = "FrontRopes";
+    public static final String WHITE_REGION = "White";
+    public static final String BLOOD_SPLATTER_REGION = "BloodSplatter";
+    public static final String BLOOD_POOL_REGION = "BloodPool";
+    public static final int BLOOD_POOL_REGIONS = 3;
+
+    public static final String IDLE_SPRITE_SHEET = "IdleSpriteSheet";
+    public static final String WALK_SPRITE_SHEET = "WalkSpriteSheet";
+    public static final String PUNCH_SPRITE_SHEET = "PunchSpriteSheet";
+    public static final String KICK_SPRITE_SHEET = "KickSpriteSheet";
+    public static final String HURT_SPRITE_SHEET = "HurtSpriteSheet";
+    public static final String BLOCK_SPRITE_SHEET = "BlockSpriteSheet";
+    public static final String WIN_SPRITE_SHEET = "WinSpriteSheet";
+    public static final String LOSE_SPRITE_SHEET = "LoseSpriteSheet";
+
+    // Hitboxes and hurtboxes of every frame of the sprite sheets
+    public static final String FRAME_DATA = "data/frame_data.json";
+
+    // Characters the fighters can be played as
+    public static final String ROSTER = "data/fighter_choices.json";
 
     // Fonts
-    public static final String ROBOTO_REGULAR = "/home/deckard/LibGdx/Projects/FighterGame/assets/fonts/roboto_regular.ttf";
+    public static final String ROBOTO_REGULAR = "fonts/roboto_regular.ttf";
+    // Every character the HUD draws: names, labels, timer, scores and the performance overlay
+    public static final String FONT_CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789 :-!.";
     public static final String SMALL_FONT = "smallfont.ttf";
     public static final String MEDIUM_FONT = "mediumfont.ttf";
     public static final String LARGE_FONT = "largefont.ttf";
+    public static final String DISTANCE_FIELD_FONT = "fonts/roboto_sdf.fnt";
+    public static final String DISTANCE_FIELD_SHADER = "shaders/distance_field.vert";
 
     // Audio Assets
     public static final String BLOCK_SOUND = "audio/block.mp3";
@@ -43,70 +69,149 @@ public class Assets {
     public static final String CHEER_SOUND = "audio/cheer.mp3";
     public static final String CLICK_SOUND = "audio/click.mp3";
     public static final String HIT_SOUND = "audio/hit.mp3";
-    public static final String MUSIC = "audio/music.oog";
+    public static final String MUSIC = "audio/music.ogg";
 
     // Menu Assets
     public static final String MENU_ITEMS = "textures/MenuItems.atlas";
 
     public final ObjectMap<String, FontInfo> fonts = new ObjectMap<>();
 
+    // Whether the fonts are drawn from the distance field font instead of being rasterized by FreeType
+    private boolean distanceFieldFonts;
+    private DistanceFieldFonts distanceField;
+
+    // Fighter animations, built once per atlas and shared by all fighters
+    public final AnimationSet.Cache animations = new AnimationSet.Cache();
+
+    private Roster roster;
+
+    // Keeps the loaded textures under the device's video memory budget
+    public final TextureResidency residency = new TextureResidency(manager);
+
+    public Assets() {
+        manager.setLoader(FrameData.class, new FrameData.Loader(new InternalFileHandleResolver()));
+        residency.setListener((fileName, asset) -> {
+            if (asset instanceof TextureAtlas) {
+                animations.remove((TextureAtlas) asset);
+            } else if (fileName.equals(DISTANCE_FIELD_FONT)) {
+                // Its fonts share the evicted page, they are created again once it is reloaded
+                distanceField = null;
+            }
+        });
+    }
+
     public void load() {
         loadGamePlayAssets();
         loadFonts();
+        loadAudio();
     }
 
     private void loadGamePlayAssets() {
-        // Adding texture filter to make assests more better in terms of graphics
-        TextureLoader.TextureParameter parameter = new TextureLoader.TextureParameter();
-        parameter.minFilter = Texture.TextureFilter.Linear;
-        parameter.magFilter = Texture.TextureFilter.Linear;
-
-
-        manager.load(BACKGROUND_TEXTURE, Texture.class, parameter);
-        manager.load(FRONT_REPOES_TEXTURE, Texture.class, parameter);
-        manager.load(IDLE_SPRITE_SHEET, Texture.class, parameter);
-        manager.load(WALK_SPRITE_SHEET, Texture.class, parameter);
-        manager.load(PUNCH_SPRITE_SHEET, Texture.class, parameter);
-        manager.load(KICK_SPRITE_SHEET, Texture.class, parameter);
-        manager.load(HURT_SPRITE_SHEET, Texture.class, parameter);
-        manager.load(BLOCK_SPRITE_SHEET, Texture.class, parameter);
-        manager.load(WIN_SPRITE_SHEET, Texture.class, parameter);
-        manager.load(LOSE_SPRITE_SHEET, Texture.class, parameter);
-        manager.load(GAMEPLAY_BUTTONS_ATLAS, TextureAtlas.class);
-        manager.load(BLOOD_ATLAS, TextureAtlas.class);
+        // The background, the ropes and all sprite sheets share the gameplay atlas (linear filtered, see the .atlas file)
+        residency.load(GAMEPLAY_ATLAS, TextureAtlas.class);
+        manager.load(FRAME_DATA, FrameData.class);
+    }
+
+    public Roster getRoster() {
+        if (roster == null) {
+            roster = new Roster(Gdx.files.internal(ROSTER));
+        }
+        return roster;
+    }
+
+    private void loadAudio() {
+        // Short effects are decoded up front, the music is streamed while it plays
+        manager.load(BLOCK_SOUND, Sound.class);
+        manager.load(BOO_SOUND, Sound.class);
+        manager.load(CHEER_SOUND, Sound.class);
+        manager.load(CLICK_SOUND, Sound.class);
+        manager.load(HIT_SOUND, Sound.class);
+        manager.load(MUSIC, Music.class);
     }
 
     private void loadFonts() {
+        fonts.put(SMALL_FONT, new FontInfo(SMALL_FONT, 32, 0));
+        fonts.put(MEDIUM_FONT, new FontInfo(MEDIUM_FONT, 106, 4));
+        fonts.put(LARGE_FONT, new FontInfo(LARGE_FONT, 150, 0));
+
+        // One pre-baked distance field font covers every size; FreeType is only the fallback for GPUs that can't draw it
+        distanceFieldFonts = DistanceFieldFonts.isSupported();
+        if (distanceFieldFonts) {
+            BitmapFontLoader.BitmapFontParameter parameter = new BitmapFontLoader.BitmapFontParameter();
+            parameter.minFilter = Texture.TextureFilter.Linear;
+            parameter.magFilter = Texture.TextureFilter.Linear;
+            residency.load(DISTANCE_FIELD_FONT, BitmapFont.class, parameter);
+            manager.load(DISTANCE_FIELD_SHADER, ShaderProgram.class);
+            return;
+        }
+
         FileHandleResolver resolver = new InternalFileHandleResolver();
         manager.setLoader(FreeTypeFontGenerator.class, new FreeTypeFontGeneratorLoader(resolver));
-        manager.setLoader(BitmapFont.class,".ttf",new FreetypeFontLoader(resolver));
+        manager.setLoader(BitmapFont.class, ".ttf", new CachedFreetypeFontLoader(resolver));
         // Load small font
         FreetypeFontLoader.FreeTypeFontLoaderParameter smallFont = new FreetypeFontLoader.FreeTypeFontLoaderParameter();
         smallFont.fontFileName = ROBOTO_REGULAR;
-        smallFont.fontParameters.size = 32;
+        smallFont.fontParameters.characters = FONT_CHARACTERS;
+        smallFont.fontParameters.size = fonts.get(SMALL_FONT).size;
         smallFont.fontParameters.minFilter = Texture.TextureFilter.Linear;
         smallFont.fontParameters.magFilter = Texture.TextureFilter.Linear;
-        manager.load(SMALL_FONT, BitmapFont.class, smallFont);
+        residency.load(SMALL_FONT, BitmapFont.class, smallFont);
 
         // Load medium font
         FreetypeFontLoader.FreeTypeFontLoaderParameter mediumFont = new FreetypeFontLoader.FreeTypeFontLoaderParameter();
         mediumFont.fontFileName = ROBOTO_REGULAR;
-        mediumFont.fontParameters.size = 106;
-        mediumFont.fontParameters.borderWidth = 4;
+        mediumFont.fontParameters.characters = FONT_CHARACTERS;
+        mediumFont.fontParameters.size = fonts.get(MEDIUM_FONT).size;
+        mediumFont.fontParameters.borderWidth = fonts.get(MEDIUM_FONT).borderWidth;
         mediumFont.fontParameters.minFilter = Texture.TextureFilter.Linear;
         mediumFont.fontParameters.magFilter = Texture.TextureFilter.Linear;
-        manager.load(MEDIUM_FONT, BitmapFont.class, mediumFont);
+        residency.load(MEDIUM_FONT, BitmapFont.class, mediumFont);
 
         // Load large font
         FreetypeFontLoader.FreeTypeFontLoaderParameter largeFont = new FreetypeFontLoader.FreeTypeFontLoaderParameter();
         largeFont.fontFileName = ROBOTO_REGULAR;
-        largeFont.fontParameters.size = 150;
+        largeFont.fontParameters.characters = FONT_CHARACTERS;
+        largeFont.fontParameters.size = fonts.get(LARGE_FONT).size;
         largeFont.fontParameters.minFilter = Texture.TextureFilter.Linear;
         largeFont.fontParameters.magFilter = Texture.TextureFilter.Linear;
-        manager.load(LARGE_FONT, BitmapFont.class, largeFont);
+        residency.load(LARGE_FONT, BitmapFont.class, largeFont);
+    }
+
+    public boolean usesDistanceFieldFonts() {
+        return distanceFieldFonts;
+    }
+
+    public DistanceFieldFonts getDistanceFieldFonts() {
+        if (distanceField == null && distanceFieldFonts) {
+            distanceField = new DistanceFieldFonts(manager.get(DISTANCE_FIELD_FONT, BitmapFont.class), manager.get(DISTANCE_FIELD_SHADER, ShaderProgram.class));
+        }
+        return distanceField;
+    }
+
+    /**
+     * Requests the asset a font is drawn from, see {@link TextureResidency#request(String)}.
+     */
+    public boolean requestFont(String name) {
+        return residency.request(distanceFieldFonts ? DISTANCE_FIELD_FONT : name);
+    }
+
+    public BitmapFont getFont(String name) {
+        if (distanceFieldFonts) {
+            return getDistanceFieldFonts().getFont(fonts.get(name));
+        }
+        return manager.get(name);
+    }
+
+    // Scale to apply on top of the world scale to draw the font at its size
+    public float getFontScale(String name) {
+        if (distanceFieldFonts) {
+            return DistanceFieldFonts.getScale(fonts.get(name));
+        }
+        return 1f;
     }
 
     public void dispose() {
+        animations.clear();
         manager.dispose();
     }
 
@@ -114,10 +219,12 @@ public class Assets {
     public static class FontInfo {
         public final String name;
         public final int size;
+        public final int borderWidth;
 
-        public FontInfo(String name, int size) {
+        public FontInfo(String name, int size, int borderWidth) {
             this.name = name;
             this.size = size;
+            this.borderWidth = borderWidth;
         }
 
     }
@@ -0,0 +1,166 @@
+package io.github.hbazai.fighter.resources;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * {@link FreetypeFontLoader} that only runs FreeType the first time a font is needed. The generated font is written to
+ * the {@link FontCache}, and later launches decode the cached pages instead of rasterizing the font again.
+ */
+public class CachedFreetypeFontLoader extends FreetypeFontLoader {
+    private static final int PAGE_SIZE = 1024;
+
+    private final FileHandleResolver resolver;
+    private final FontCache cache = new FontCache();
+
+    // Cached font decoded by loadAsync, uploaded by loadSync
+    private BitmapFont.BitmapFontData cachedData;
+    private final Array<Pixmap> cachedPages = new Array<>();
+
+    public CachedFreetypeFontLoader(FileHandleResolver resolver) {
+        super(resolver);
+        this.resolver = resolver;
+    }
+
+    private String getKey(FreeTypeFontLoaderParameter parameter) {
+        return cache.getKey(resolver.resolve(parameter.fontFileName), parameter.fontParameters);
+    }
+
+    // The raw descriptor type comes from AssetLoader, overrides must keep it
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, FreeTypeFontLoaderParameter parameter) {
+        // A cached font doesn't need the generator, so the font file isn't even opened by FreeType
+        if (cache.contains(getKey(parameter))) {
+            return null;
+        }
+        return super.getDependencies(fileName, file, parameter);
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, FreeTypeFontLoaderParameter parameter) {
+        cachedData = null;
+        cachedPages.clear();
+
+        String key = getKey(parameter);
+        if (!cache.contains(key)) {
+            super.loadAsync(manager, fileName, file, parameter);
+            return;
+        }
+
+        try {
+            cachedData = new BitmapFont.BitmapFontData(cache.getFontFile(key), parameter.fontParameters.flip);
+            for (String imagePath : cachedData.imagePaths) {
+                cachedPages.add(new Pixmap(Gdx.files.local(imagePath)));
+            }
+        } catch (GdxRuntimeException e) {
+            // A damaged entry is baked again below
+            Gdx.app.error("CachedFreetypeFontLoader", "Could not read cached font " + key, e);
+            for (Pixmap page : cachedPages) {
+                page.dispose();
+            }
+            cachedPages.clear();
+            cachedData = null;
+        }
+    }
+
+    @Override
+    public BitmapFont loadSync(AssetManager manager, String fileName, FileHandle file, FreeTypeFontLoaderParameter parameter) {
+        if (cachedData != null) {
+            return createCachedFont(parameter);
+        }
+
+        FreeTypeFontGenerator.FreeTypeFontParameter fontParameters = parameter.fontParameters;
+        if (!cache.isAvailable()) {
+            return super.loadSync(manager, fileName, file, parameter);
+        }
+
+        // A damaged cache entry skipped the generator dependency, so open the font here instead
+        String generatorName = parameter.fontFileName + ".gen";
+        boolean ownsGenerator = !manager.isLoaded(generatorName);
+        FreeTypeFontGenerator generator = ownsGenerator
+            ? new FreeTypeFontGenerator(resolver.resolve(parameter.fontFileName))
+            : manager.get(generatorName, FreeTypeFontGenerator.class);
+
+        // Generate into our own packer, so the pages are still around to be written to the cache
+        PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, 1, false);
+        Color transparent = fontParameters.borderWidth > 0 ? fontParameters.borderColor : fontParameters.color;
+        packer.setTransparentColor(transparent);
+        packer.getTransparentColor().a = 0;
+        fontParameters.packer = packer;
+        BitmapFont font;
+        try {
+            font = generator.generateFont(fontParameters);
+        } finally {
+            fontParameters.packer = null;
+            if (ownsGenerator) generator.dispose();
+        }
+
+        Array<Pixmap> pages = new Array<>();
+        for (PixmapPacker.Page page : packer.getPages()) {
+            pages.add(page.getPixmap());
+        }
+        try {
+            cache.write(getKey(parameter), font.getData(), pages);
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("CachedFreetypeFontLoader", "Could not cache font " + fileName, e);
+        }
+
+        // The page textures now belong to the font. They are managed and keep their pixmaps to be uploaded again when
+        // the context is lost, and free them when they are disposed, with the font when it is unloaded or evicted
+        packer.dispose();
+        font.setOwnsTexture(true);
+        return font;
+    }
+
+    private BitmapFont createCachedFont(FreeTypeFontLoaderParameter parameter) {
+        FreeTypeFontGenerator.FreeTypeFontParameter fontParameters = parameter.fontParameters;
+        Array<TextureRegion> regions = new Array<>(cachedPages.size);
+        for (Pixmap page : cachedPages) {
+            Texture texture = new PageTexture(page, fontParameters.genMipMaps);
+            texture.setFilter(fontParameters.minFilter, fontParameters.magFilter);
+            regions.add(new TextureRegion(texture));
+        }
+        cachedPages.clear();
+
+        BitmapFont font = new BitmapFont(cachedData, regions, true);
+        font.setOwnsTexture(true);
+        cachedData = null;
+        return font;
+    }
+
+    /**
+     * Managed page texture that keeps its pixmap, so it can be uploaded again when the GL context is lost, and frees
+     * the pixmap with the texture. The pages the generator packs work the same way.
+     */
+    private static class PageTexture extends Texture {
+        private final Pixmap pixmap;
+
+        PageTexture(Pixmap pixmap, boolean useMipMaps) {
+            super(new PixmapTextureData(pixmap, null, useMipMaps, false, true));
+            this.pixmap = pixmap;
+        }
+
+        @Override
+        public void dispose() {
+            super.dispose();
+            if (!pixmap.isDisposed()) {
+                pixmap.dispose();
+            }
+        }
+    }
+}
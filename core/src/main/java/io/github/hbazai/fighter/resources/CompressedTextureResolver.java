@@ -0,0 +1,77 @@
+package io.github.hbazai.fighter.resources;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Resolves texture pages to their GPU compressed variant, made by the compressTextures task, when the GPU can sample it.
+ * A page textures/Gameplay.png resolves to textures/etc2/Gameplay.ktx or textures/dxt/Gameplay.ktx, which the texture
+ * loader uploads as is. Any page without a variant, and every page on a GPU without a supported format, stays a PNG.
+ * <p>
+ * No variants are committed yet, so until the compressTextures task has been run, with PVRTexToolCLI, every page
+ * resolves to its PNG. Once they exist, a compressed page takes a quarter of the memory of RGBA8888, 4 MB instead of
+ * 16 MB for a 2048x2048 page like the gameplay atlas, and skips the PNG decode, which matters most on phones.
+ */
+public class CompressedTextureResolver implements FileHandleResolver {
+    public enum Format {
+        // ETC2 RGBA8 with EAC alpha, part of every OpenGL ES 3 GPU
+        ETC2("etc2"),
+        // DXT5 (BC3), on nearly every desktop GPU and a few mobile ones
+        DXT("dxt"),
+        NONE(null);
+
+        public final String directory;
+
+        Format(String directory) {
+            this.directory = directory;
+        }
+    }
+
+    private static final String PAGE_EXTENSION = ".png";
+    private static final String COMPRESSED_EXTENSION = ".ktx";
+
+    private final FileHandleResolver resolver;
+    private final Format format;
+
+    public CompressedTextureResolver(FileHandleResolver resolver, Format format) {
+        this.resolver = resolver;
+        this.format = format;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * The best compressed format the current GPU can sample, or NONE.
+     */
+    public static Format detect() {
+        Application.ApplicationType type = Gdx.app.getType();
+        // Browsers get the PNGs, the web backend doesn't read KTX files. Neither does a headless run need textures
+        if (type == Application.ApplicationType.WebGL || type == Application.ApplicationType.HeadlessDesktop) {
+            return Format.NONE;
+        }
+        if (Gdx.graphics.supportsExtension("GL_EXT_texture_compression_s3tc")) {
+            return Format.DXT;
+        }
+        // Desktop GL can report ETC2 support and decode it on the CPU instead, so only trust it on GLES
+        boolean mobile = type == Application.ApplicationType.Android || type == Application.ApplicationType.iOS;
+        if (mobile && Gdx.gl30 != null) {
+            return Format.ETC2;
+        }
+        return Format.NONE;
+    }
+
+    @Override
+    public FileHandle resolve(String fileName) {
+        FileHandle file = resolver.resolve(fileName);
+        if (format == Format.NONE || !fileName.endsWith(PAGE_EXTENSION)) {
+            return file;
+        }
+
+        FileHandle compressed = file.parent().child(format.directory).child(file.nameWithoutExtension() + COMPRESSED_EXTENSION);
+        return compressed.exists() ? compressed : file;
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.hbazai.fighter.resources;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Draws every HUD font size from the single pre-baked signed distance field font. Each size gets its own
+ * {@link BitmapFont} sharing the baked glyph page, and text must be drawn between {@link #begin(Batch, Assets.FontInfo)}
+ * and {@link #end(Batch)} so the batch uses the distance field shader.
+ */
+public class DistanceFieldFonts {
+    // Size in pixels the font was baked at, and how far in baked pixels the distance field reaches outside the glyphs
+    public static final int BAKED_SIZE = 64;
+    public static final float SPREAD = 8f;
+
+    public static final Color OUTLINE_COLOR = Color.BLACK;
+
+    private final BitmapFont bakedFont;
+    private final ShaderProgram shader;
+    private final ObjectMap<String, BitmapFont> fonts = new ObjectMap<>();
+    private float outline;
+
+    public DistanceFieldFonts(BitmapFont bakedFont, ShaderProgram shader) {
+        this.bakedFont = bakedFont;
+        this.shader = shader;
+    }
+
+    public static boolean isSupported() {
+        // The shader needs fwidth(), which GLES 2 and WebGL 1 only have through an extension
+        return Gdx.app.getType() == Application.ApplicationType.Desktop
+            || Gdx.graphics.isGL30Available()
+            || Gdx.graphics.supportsExtension("GL_OES_standard_derivatives")
+            || Gdx.graphics.supportsExtension("OES_standard_derivatives");
+    }
+
+    public BitmapFont getFont(Assets.FontInfo info) {
+        BitmapFont font = fonts.get(info.name);
+        if (font == null) {
+            // Separate font data per size, so every size can have its own scale
+            font = new BitmapFont(new BitmapFont.BitmapFontData(bakedFont.getData().fontFile, false), bakedFont.getRegions(), false);
+            fonts.put(info.name, font);
+        }
+        return font;
+    }
+
+    public static float getScale(Assets.FontInfo info) {
+        return info.size / (float) BAKED_SIZE;
+    }
+
+    public void begin(Batch batch, Assets.FontInfo info) {
+        if (batch.getShader() != shader) {
+            batch.setShader(shader);
+            shader.setUniformf("u_outlineColor", OUTLINE_COLOR);
+            outline = -1f;
+        }
+
+        // Convert the border width from pixels at the font's size into distance field units
+        float fontOutline = info.borderWidth * BAKED_SIZE / (float) info.size * 0.5f / SPREAD;
+        if (fontOutline != outline) {
+            batch.flush();
+            shader.setUniformf("u_outline", fontOutline);
+            outline = fontOutline;
+        }
+    }
+
+    public void end(Batch batch) {
+        if (batch.getShader() == shader) {
+            batch.setShader(null);
+        }
+    }
+}
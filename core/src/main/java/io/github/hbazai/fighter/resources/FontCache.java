@@ -0,0 +1,187 @@
+package io.github.hbazai.fighter.resources;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Local storage for fonts generated by FreeType, written as BMFont .fnt files plus png pages. Entries are keyed by a
+ * hash of the font file, the generator parameters and the character set, so any change to one of them bakes a new
+ * entry instead of reusing a stale one.
+ */
+public class FontCache {
+    // Bump when the way fonts are generated or written changes, older entries are then ignored and cleaned up
+    public static final int VERSION = 1;
+    private static final String ROOT = "fontcache/";
+
+    private final FileHandle directory;
+
+    // Hash of each font file, so every size of the same font reads it only once
+    private final ObjectMap<String, Long> fileHashes = new ObjectMap<>();
+
+    public FontCache() {
+        directory = Gdx.files.isLocalStorageAvailable() ? Gdx.files.local(ROOT + "v" + VERSION) : null;
+        deleteOldVersions();
+    }
+
+    public boolean isAvailable() {
+        return directory != null;
+    }
+
+    public String getKey(FileHandle fontFile, FreeTypeFontGenerator.FreeTypeFontParameter parameter) {
+        Long fileHash = fileHashes.get(fontFile.path());
+        if (fileHash == null) {
+            fileHash = hash(FNV_OFFSET, fontFile.readBytes());
+            fileHashes.put(fontFile.path(), fileHash);
+        }
+
+        long hash = fileHash;
+        hash = hash(hash, parameter.size);
+        hash = hash(hash, parameter.mono ? 1 : 0);
+        hash = hash(hash, parameter.hinting.ordinal());
+        hash = hash(hash, Color.rgba8888(parameter.color));
+        hash = hash(hash, Float.floatToIntBits(parameter.gamma));
+        hash = hash(hash, parameter.renderCount);
+        hash = hash(hash, Float.floatToIntBits(parameter.borderWidth));
+        hash = hash(hash, Color.rgba8888(parameter.borderColor));
+        hash = hash(hash, parameter.borderStraight ? 1 : 0);
+        hash = hash(hash, Float.floatToIntBits(parameter.borderGamma));
+        hash = hash(hash, parameter.shadowOffsetX);
+        hash = hash(hash, parameter.shadowOffsetY);
+        hash = hash(hash, Color.rgba8888(parameter.shadowColor));
+        hash = hash(hash, parameter.spaceX);
+        hash = hash(hash, parameter.spaceY);
+        hash = hash(hash, parameter.padTop);
+        hash = hash(hash, parameter.padLeft);
+        hash = hash(hash, parameter.padBottom);
+        hash = hash(hash, parameter.padRight);
+        hash = hash(hash, parameter.kerning ? 1 : 0);
+        hash = hash(hash, parameter.flip ? 1 : 0);
+        for (int i = 0; i < parameter.characters.length(); i++) {
+            hash = hash(hash, parameter.characters.charAt(i));
+        }
+        return Long.toHexString(hash);
+    }
+
+    public FileHandle getFontFile(String key) {
+        return directory.child(key + ".fnt");
+    }
+
+    public boolean contains(String key) {
+        return isAvailable() && getFontFile(key).exists();
+    }
+
+    public void write(String key, BitmapFont.BitmapFontData data, Array<Pixmap> pages) {
+        StringBuilder fnt = new StringBuilder();
+        int pageWidth = pages.first().getWidth(), pageHeight = pages.first().getHeight();
+        fnt.append("info face=\"").append(key).append("\" size=").append((int) data.lineHeight)
+            .append(" bold=0 italic=0 charset=\"\" unicode=1 stretchH=100 smooth=1 aa=1 padding=")
+            .append((int) data.padTop).append(',').append((int) data.padRight).append(',')
+            .append((int) data.padBottom).append(',').append((int) data.padLeft).append(" spacing=0,0\n");
+        fnt.append("common lineHeight=").append((int) data.lineHeight).append(" base=").append((int) (data.capHeight + data.ascent))
+            .append(" scaleW=").append(pageWidth).append(" scaleH=").append(pageHeight)
+            .append(" pages=").append(pages.size).append(" packed=0\n");
+        for (int i = 0; i < pages.size; i++) {
+            fnt.append("page id=").append(i).append(" file=\"").append(key).append('_').append(i).append(".png\"\n");
+        }
+
+        // Collect the glyphs, libGDX keeps them in pages of 512 characters
+        Array<BitmapFont.Glyph> glyphs = new Array<>();
+        if (data.missingGlyph != null) {
+            glyphs.add(data.missingGlyph);
+        }
+        for (BitmapFont.Glyph[] page : data.glyphs) {
+            if (page == null) continue;
+            for (BitmapFont.Glyph glyph : page) {
+                if (glyph != null && glyph != data.missingGlyph) glyphs.add(glyph);
+            }
+        }
+
+        fnt.append("chars count=").append(glyphs.size).append('\n');
+        int kernings = 0;
+        for (BitmapFont.Glyph glyph : glyphs) {
+            // .fnt offsets are measured down from the top of the line, libGDX measures glyphs up from the baseline
+            fnt.append("char id=").append(glyph == data.missingGlyph ? 0 : glyph.id)
+                .append(" x=").append(glyph.srcX).append(" y=").append(glyph.srcY)
+                .append(" width=").append(glyph.width).append(" height=").append(glyph.height)
+                .append(" xoffset=").append(glyph.xoffset).append(" yoffset=").append(-glyph.yoffset - glyph.height)
+                .append(" xadvance=").append(glyph.xadvance).append(" page=").append(glyph.page).append(" chnl=0\n");
+            kernings += countKernings(glyph);
+        }
+
+        // Always write the kernings block, libGDX only reads the metrics line after it
+        fnt.append("kernings count=").append(kernings).append('\n');
+        for (BitmapFont.Glyph glyph : glyphs) {
+            if (glyph.kerning == null) continue;
+            for (int page = 0; page < glyph.kerning.length; page++) {
+                byte[] amounts = glyph.kerning[page];
+                if (amounts == null) continue;
+                for (int i = 0; i < amounts.length; i++) {
+                    if (amounts[i] != 0) {
+                        fnt.append("kerning first=").append(glyph.id).append(" second=").append(page * amounts.length + i)
+                            .append(" amount=").append(amounts[i]).append('\n');
+                    }
+                }
+            }
+        }
+
+        // Keep FreeType's exact metrics instead of the ones libGDX would derive from the glyphs
+        fnt.append("metrics ascent=").append(data.ascent).append(" descent=").append(data.descent)
+            .append(" down=").append(data.down).append(" capHeight=").append(data.capHeight)
+            .append(" lineHeight=").append(data.lineHeight).append(" spaceXAdvance=").append(data.spaceXadvance)
+            .append(" xHeight=").append(data.xHeight).append('\n');
+
+        // Write the pages first, so a font file only ever exists next to complete pages
+        for (int i = 0; i < pages.size; i++) {
+            PixmapIO.writePNG(directory.child(key + "_" + i + ".png"), pages.get(i));
+        }
+        getFontFile(key).writeString(fnt.toString(), false, "UTF-8");
+    }
+
+    private static int countKernings(BitmapFont.Glyph glyph) {
+        if (glyph.kerning == null) return 0;
+        int count = 0;
+        for (byte[] amounts : glyph.kerning) {
+            if (amounts == null) continue;
+            for (byte amount : amounts) {
+                if (amount != 0) count++;
+            }
+        }
+        return count;
+    }
+
+    private void deleteOldVersions() {
+        if (directory == null) return;
+        FileHandle root = Gdx.files.local(ROOT);
+        if (!root.isDirectory()) return;
+        for (FileHandle child : root.list()) {
+            if (!child.name().equals(directory.name())) {
+                child.deleteDirectory();
+            }
+        }
+    }
+
+    // 64 bit FNV-1a
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static long hash(long hash, byte[] bytes) {
+        for (byte b : bytes) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, int value) {
+        for (int i = 0; i < 4; i++) {
+            hash = (hash ^ ((value >>> (i * 8)) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -13,6 +13,12 @@ public class GlobalVariables {
     public static final float WORLD_SCALE = 0.05f;
     public static final float MIN_WORLD_HEIGHT = 0.85f;
 
+    // Loading, milliseconds of asset loading per frame
+    public static final int LOADING_TIME_BUDGET = 12;
+
+    // Bytes of video memory the loaded textures may take, launchers lower it on small devices
+    public static final long TEXTURE_BUDGET = 256L * 1024 * 1024;
+
     // Colors
     public static final Color GOLD = new Color(094f, 0.85f, 0.32f, 1f);
 
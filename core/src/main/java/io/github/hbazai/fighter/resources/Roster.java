@@ -0,0 +1,52 @@
+package io.github.hbazai.fighter.resources;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+/**
+ * The characters fighters can be played as, read from {@link Assets#ROSTER}. The game ships one set of sprite sheets
+ * and one frame data file, so every character is drawn from the gameplay atlas and hit with the shared frame data, and
+ * characters only differ by name and costume color.
+ */
+public class Roster {
+    public static class Character {
+        public final String name;
+        public final Color color;
+
+        public Character(String name, Color color) {
+            this.name = name;
+            this.color = color;
+        }
+    }
+
+    private final Array<Character> characters = new Array<>();
+
+    /**
+     * Reads a list of {name, colorValues: [r, g, b]} entries.
+     */
+    public Roster(FileHandle file) {
+        JsonValue root = new JsonReader().parse(file);
+        for (JsonValue entry = root.child; entry != null; entry = entry.next) {
+            float[] colorValues = entry.get("colorValues").asFloatArray();
+            characters.add(new Character(
+                entry.getString("name"),
+                new Color(colorValues[0], colorValues[1], colorValues[2], 1f)
+            ));
+        }
+    }
+
+    public int size() {
+        return characters.size;
+    }
+
+    public Character get(int index) {
+        return characters.get(index);
+    }
+
+    public int indexOf(Character character) {
+        return characters.indexOf(character, true);
+    }
+}
@@ -0,0 +1,251 @@
+package io.github.hbazai.fighter.resources;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+
+/**
+ * Keeps the estimated video memory of the textures loaded through the {@link AssetManager} under a per-device budget,
+ * by unloading the texture assets drawn the longest ago.
+ * <p>
+ * Every texture asset, atlases, textures and fonts, is queued through {@link #load} and released through
+ * {@link #unload} instead of the asset manager, so the residency knows how to load it again. Whatever draws an asset
+ * asks for it with {@link #request(String)} in every frame it draws it, which records the frame. Once the textures go
+ * over budget, the assets not drawn in the last frame are evicted, least recently drawn first, whoever holds
+ * references to them: they are unloaded entirely and their references are remembered. The next request for an evicted
+ * asset queues it again, it loads in the background and the request returns false until it is back.
+ * <p>
+ * Objects taken from an asset, regions, animations or fonts, belong to the disposed asset once it is evicted. Holders
+ * look them up again when {@link #getEvictions()} changes, before drawing with them.
+ * <p>
+ * {@link #update()} must be called every frame, it also lets the asset manager load what is queued.
+ */
+public class TextureResidency {
+    public interface Listener {
+        void evicted(String fileName, Object asset);
+    }
+
+    // Milliseconds per frame the asset manager may spend loading in the background
+    public static final int LOADING_TIME_BUDGET = 4;
+
+    private static final float MEGABYTE = 1024f * 1024f;
+
+    private static class Resident {
+        final AssetDescriptor<?> descriptor;
+        // Frame the asset was last drawn in, or queued in if it was never drawn
+        long lastDrawn;
+        // References held when the asset was evicted, queued again on the next request
+        int evictedReferences;
+
+        Resident(AssetDescriptor<?> descriptor) {
+            this.descriptor = descriptor;
+        }
+    }
+
+    private final AssetManager manager;
+    private Listener listener;
+    private long budget = GlobalVariables.TEXTURE_BUDGET;
+
+    private final ObjectMap<String, Resident> residents = new ObjectMap<>();
+    private long frame;
+    private int evictions;
+
+    // Estimated bytes of every loaded texture, computed again when the number of loaded assets changes
+    private long residentBytes;
+    private int loadedAssets = -1;
+    private final ObjectSet<Texture> textures = new ObjectSet<>();
+
+    public TextureResidency(AssetManager manager) {
+        this.manager = manager;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public long getBudget() {
+        return budget;
+    }
+
+    public void setBudget(long budget) {
+        this.budget = budget;
+    }
+
+    public long getResidentBytes() {
+        return residentBytes;
+    }
+
+    /**
+     * Number of evictions so far, objects taken from texture assets before it last changed may be disposed.
+     */
+    public int getEvictions() {
+        return evictions;
+    }
+
+    public <T> void load(String fileName, Class<T> type) {
+        load(fileName, type, null);
+    }
+
+    /**
+     * Queues a texture asset, or counts one more reference to it, like {@link AssetManager#load}. An evicted asset is
+     * queued again with the references it had.
+     */
+    public <T> void load(String fileName, Class<T> type, AssetLoaderParameters<T> parameter) {
+        Resident resident = residents.get(fileName);
+        if (resident == null) {
+            resident = new Resident(new AssetDescriptor<>(fileName, type, parameter));
+            residents.put(fileName, resident);
+        }
+        resident.lastDrawn = frame;
+        reload(resident);
+        manager.load(resident.descriptor);
+    }
+
+    /**
+     * Drops a reference to an asset queued through {@link #load}, the asset is disposed once nothing holds it.
+     */
+    public void unload(String fileName) {
+        Resident resident = residents.get(fileName);
+        if (resident != null && resident.evictedReferences > 0) {
+            resident.evictedReferences--;
+        } else {
+            manager.unload(fileName);
+        }
+    }
+
+    /**
+     * Records that an asset is drawn this frame, and queues it again if it was evicted. Returns whether it is loaded,
+     * what it draws must be skipped otherwise. Assets not queued through {@link #load} are only checked.
+     */
+    public boolean request(String fileName) {
+        Resident resident = residents.get(fileName);
+        if (resident != null) {
+            resident.lastDrawn = frame;
+            reload(resident);
+        }
+        return manager.isLoaded(fileName);
+    }
+
+    private void reload(Resident resident) {
+        for (int i = 0; i < resident.evictedReferences; i++) {
+            manager.load(resident.descriptor);
+        }
+        resident.evictedReferences = 0;
+    }
+
+    public void update() {
+        frame++;
+        manager.update(LOADING_TIME_BUDGET);
+
+        if (manager.getLoadedAssets() != loadedAssets) {
+            loadedAssets = manager.getLoadedAssets();
+            residentBytes = estimateResidentBytes();
+        }
+        // Nothing is evicted while loads are queued, a queued reference to an evicted asset would load it again
+        while (residentBytes > budget && manager.isFinished() && evictLeastRecentlyUsed()) {
+            loadedAssets = manager.getLoadedAssets();
+            residentBytes = estimateResidentBytes();
+        }
+    }
+
+    private boolean evictLeastRecentlyUsed() {
+        String oldest = null;
+        Resident oldestResident = null;
+        for (ObjectMap.Entry<String, Resident> entry : residents) {
+            // What was drawn in the last frame is still on screen
+            Resident resident = entry.value;
+            if (resident.lastDrawn < frame - 1 && manager.isLoaded(entry.key)
+                && (oldestResident == null || resident.lastDrawn < oldestResident.lastDrawn)) {
+                oldest = entry.key;
+                oldestResident = resident;
+            }
+        }
+        if (oldest == null) {
+            return false;
+        }
+
+        Object asset = manager.get(oldest);
+        int references = manager.getReferenceCount(oldest);
+        for (int i = 0; i < references; i++) {
+            manager.unload(oldest);
+        }
+        oldestResident.evictedReferences = references;
+        evictions++;
+        Gdx.app.log("TextureResidency", "Evicted " + oldest + ", textures over the budget of " + Math.round(budget / MEGABYTE) + " MB");
+        if (listener != null) {
+            listener.evicted(oldest, asset);
+        }
+        return true;
+    }
+
+    private long estimateResidentBytes() {
+        // Every texture once, atlas pages are loaded assets of their own and font pages may not be
+        textures.clear();
+        Array<String> names = manager.getAssetNames();
+        for (int i = 0; i < names.size; i++) {
+            Object asset = manager.get(names.get(i));
+            if (asset instanceof Texture) {
+                textures.add((Texture) asset);
+            } else if (asset instanceof TextureAtlas) {
+                for (Texture texture : ((TextureAtlas) asset).getTextures()) {
+                    textures.add(texture);
+                }
+            } else if (asset instanceof BitmapFont) {
+                // FreeType fonts rasterize their pages themselves, distance field fonts load them as dependencies
+                Array<TextureRegion> regions = ((BitmapFont) asset).getRegions();
+                for (int j = 0; j < regions.size; j++) {
+                    textures.add(regions.get(j).getTexture());
+                }
+            }
+        }
+
+        long bytes = 0;
+        for (Texture texture : textures) {
+            bytes += estimateBytes(texture);
+        }
+        return bytes;
+    }
+
+    /**
+     * Rough size of a texture in video memory.
+     */
+    public static long estimateBytes(Texture texture) {
+        long pixels = (long) texture.getWidth() * texture.getHeight();
+        TextureData data = texture.getTextureData();
+        long bytes;
+        if (data.getType() == TextureData.TextureDataType.Custom) {
+            // GPU compressed pages, ETC2 RGBA8 and DXT5 both take a byte per pixel
+            bytes = pixels;
+        } else {
+            bytes = pixels * getBytesPerPixel(data.getFormat());
+        }
+        // A full mipmap chain adds a third
+        return texture.getMinFilter().isMipMap() ? bytes * 4 / 3 : bytes;
+    }
+
+    private static int getBytesPerPixel(Pixmap.Format format) {
+        if (format == null) return 4;
+        switch (format) {
+            case Alpha:
+            case Intensity:
+                return 1;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                return 2;
+            default:
+                // RGB888 is usually padded to four bytes by the driver
+                return 4;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package io.github.hbazai.fighter.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.viewport.ExtendViewport;
+
+import io.github.hbazai.fighter.FighterGame;
+import io.github.hbazai.fighter.objects.AnimationSet;
+import io.github.hbazai.fighter.objects.Fighter;
+import io.github.hbazai.fighter.objects.FrameData;
+import io.github.hbazai.fighter.resources.Assets;
+import io.github.hbazai.fighter.resources.GlobalVariables;
+import io.github.hbazai.fighter.simulation.Arena;
+import io.github.hbazai.fighter.simulation.Controls;
+import io.github.hbazai.fighter.simulation.SimulationRunner;
+
+/**
+ * Free for all {@link Arena} fight, the player controls the first fighter and bots the rest.
+ */
+public class ArenaScreen extends InputAdapter implements Screen {
+    public static final int MAX_FIGHTERS = 64;
+    private static final int PLAYER = 0;
+
+    private final FighterGame game;
+    private final ExtendViewport viewport;
+    private final Arena arena;
+    private final int fighters;
+
+    private AnimationSet animations;
+    private TextureRegion backgroundTexture, frontRopesTexture, whiteRegion;
+    private final Color[] colors;
+
+    // Fighters drawn back to front
+    private final RenderQueue renderQueue = new RenderQueue(MAX_FIGHTERS);
+    private final int[] handles = new int[MAX_FIGHTERS];
+    private float alpha;
+
+    private BitmapFont mediumFont;
+    private HudLabel resultLabel;
+    private static final Color DEFUALT_FONT_COLOR = Color.WHITE;
+
+    // Evictions of the texture residency when the regions and the font were last looked up
+    private int evictions;
+
+    private float accumulator;
+    private int heldControls, pressedControls;
+
+    public ArenaScreen(FighterGame game, int fighters) {
+        this.game = game;
+        this.fighters = Math.min(fighters, MAX_FIGHTERS);
+
+        viewport = new ExtendViewport(
+            GlobalVariables.WORLD_WIDTH,
+            GlobalVariables.MIN_WORLD_HEIGHT,
+            GlobalVariables.WORLD_WIDTH,
+            0
+        );
+
+        lookUpTextures();
+
+        // Every fighter is played as the player's character, only their colors differ
+        arena = new Arena(animations, game.assets.manager.get(Assets.FRAME_DATA, FrameData.class), MAX_FIGHTERS);
+        for (int i = 0; i < MAX_FIGHTERS; i++) {
+            final int fighter = i;
+            handles[i] = renderQueue.add(batch -> renderFighter(fighter));
+        }
+
+        // The player keeps their color, every bot gets its own hue
+        colors = new Color[MAX_FIGHTERS];
+        colors[PLAYER] = game.player.getColor();
+        for (int i = 1; i < MAX_FIGHTERS; i++) {
+            colors[i] = new Color().fromHsv(360f * i / this.fighters, 0.6f, 1f);
+            colors[i].a = 1f;
+        }
+    }
+
+    private void lookUpTextures() {
+        TextureAtlas atlas = game.assets.manager.get(Assets.GAMEPLAY_ATLAS);
+        backgroundTexture = atlas.findRegion(Assets.BACKGROUND_TEXTURE);
+        frontRopesTexture = atlas.findRegion(Assets.FRONT_REPOES_TEXTURE);
+        whiteRegion = atlas.findRegion(Assets.WHITE_REGION);
+        animations = game.assets.animations.get(atlas);
+
+        mediumFont = game.assets.getFont(Assets.MEDIUM_FONT);
+        mediumFont.getData().setScale(GlobalVariables.WORLD_SCALE * game.assets.getFontScale(Assets.MEDIUM_FONT));
+        mediumFont.setUseIntegerPositions(false);
+        resultLabel = new HudLabel(mediumFont, Align.center);
+        evictions = game.assets.residency.getEvictions();
+    }
+
+    private boolean requestTextures() {
+        // Not short-circuited, so every asset is recorded as drawn even while another one is loading
+        boolean resident = game.assets.residency.request(Assets.GAMEPLAY_ATLAS)
+            & game.assets.requestFont(Assets.MEDIUM_FONT);
+        if (resident && evictions != game.assets.residency.getEvictions()) {
+            // Something was evicted since the regions and the font were looked up, they may belong to a disposed asset
+            lookUpTextures();
+        }
+        return resident;
+    }
+
+    private void start() {
+        arena.start(fighters, 0);
+        arena.setBot(PLAYER, false);
+        accumulator = 0f;
+    }
+
+    @Override
+    public void show() {
+        Gdx.input.setInputProcessor(this);
+        start();
+    }
+
+    @Override
+    public void render(float delta) {
+        ScreenUtils.clear(0, 0, 0, 1);
+
+        // Fixed steps, like the duel's simulation
+        accumulator += delta;
+        int ticks = 0;
+        while (accumulator >= SimulationRunner.STEP && ticks < SimulationRunner.MAX_CATCH_UP_TICKS) {
+            arena.setControls(PLAYER, heldControls | pressedControls);
+            pressedControls = Controls.NONE;
+            arena.update(SimulationRunner.STEP);
+            accumulator -= SimulationRunner.STEP;
+            ticks++;
+        }
+        if (ticks == SimulationRunner.MAX_CATCH_UP_TICKS) {
+            accumulator = 0f;
+        }
+        alpha = accumulator / SimulationRunner.STEP;
+
+        // Draw nothing while a texture this screen draws is loaded again after it was evicted
+        if (!requestTextures()) return;
+
+        game.batch.setProjectionMatrix(viewport.getCamera().combined);
+        game.batch.begin();
+
+        game.batch.draw(
+            backgroundTexture,
+            0,
+            0,
+            backgroundTexture.getRegionWidth() * GlobalVariables.WORLD_SCALE,
+            backgroundTexture.getRegionHeight() * GlobalVariables.WORLD_SCALE
+        );
+        renderFighters();
+        game.batch.draw(
+            frontRopesTexture,
+            0,
+            0,
+            frontRopesTexture.getRegionWidth() * GlobalVariables.WORLD_SCALE,
+            frontRopesTexture.getRegionHeight() * GlobalVariables.WORLD_SCALE
+        );
+
+        if (arena.isOver()) {
+            renderResult();
+        }
+        game.batch.end();
+    }
+
+    private void renderFighters() {
+        for (int i = 0; i < fighters; i++) {
+            TextureRegion frame = animations.getKeyFrame(arena.getState(i), arena.getStateTime(i));
+            renderQueue.submit(handles[i], RenderQueue.LAYER_FIGHTERS, arena.getRenderY(i, alpha), frame.getTexture());
+        }
+        renderQueue.render(game.batch);
+        game.batch.setColor(Color.WHITE);
+    }
+
+    private void renderFighter(int fighter) {
+        float x = arena.getRenderX(fighter, alpha);
+        float y = arena.getRenderY(fighter, alpha);
+        AtlasRegion frame = animations.getKeyFrame(arena.getState(fighter), arena.getStateTime(fighter));
+        float width = frame.originalWidth * GlobalVariables.WORLD_SCALE;
+        float height = frame.originalHeight * GlobalVariables.WORLD_SCALE;
+
+        game.batch.setColor(colors[fighter]);
+        AnimationSet.draw(game.batch, frame, x, y, arena.getFacing(fighter));
+
+        // Small health bar over the fighter's head
+        if (arena.getLife(fighter) > 0f) {
+            float barWidth = 4f, barHeight = 0.4f;
+            float barX = x + width * 0.5f - barWidth * 0.5f, barY = y + height;
+            game.batch.setColor(GameScreen.HEALTH_BAR_BACKGROUND_COLOR);
+            game.batch.draw(whiteRegion, barX, barY, barWidth, barHeight);
+            game.batch.setColor(fighter == PLAYER ? GameScreen.HEALTH_BAR_COLOR : colors[fighter]);
+            game.batch.draw(whiteRegion, barX, barY, barWidth * arena.getLife(fighter) / Fighter.MAX_LIFE, barHeight);
+        }
+    }
+
+    private void renderResult() {
+        if (game.assets.usesDistanceFieldFonts()) {
+            game.assets.getDistanceFieldFonts().begin(game.batch, game.assets.fonts.get(Assets.MEDIUM_FONT));
+        }
+        int winner = arena.getWinner();
+        if (resultLabel.isStale(winner, DEFUALT_FONT_COLOR)) {
+            if (winner == PLAYER) {
+                resultLabel.edit().append("YOU WIN!");
+            } else if (winner < 0) {
+                resultLabel.edit().append("NOBODY WINS");
+            } else {
+                resultLabel.edit().append("FIGHTER ").append(winner + 1).append(" WINS");
+            }
+            resultLabel.layout(winner, DEFUALT_FONT_COLOR);
+        }
+        resultLabel.draw(game.batch, viewport.getWorldWidth() / 2f, viewport.getWorldHeight() / 2f);
+        if (game.assets.usesDistanceFieldFonts()) {
+            game.assets.getDistanceFieldFonts().end(game.batch);
+        }
+    }
+
+    @Override
+    public boolean keyDown(int keycode) {
+        if (keycode == Input.Keys.SPACE) {
+            // Fight again once it is over
+            if (arena.isOver()) start();
+        } else {
+            int control = GameScreen.getControl(keycode);
+            heldControls |= control;
+            pressedControls |= control;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean keyUp(int keycode) {
+        heldControls &= ~GameScreen.getControl(keycode);
+        return true;
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void hide() {
+    }
+
+    @Override
+    public void dispose() {
+    }
+}
@@ -4,86 +4,82 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.ExtendViewport;
-import com.badlogic.gdx.utils.viewport.FitViewport;
-import com.badlogic.gdx.utils.viewport.StretchViewport;
-
-import java.util.Locale;
 
 import io.github.hbazai.fighter.FighterGame;
+import io.github.hbazai.fighter.audio.AudioEngine;
 import io.github.hbazai.fighter.objects.Fighter;
+import io.github.hbazai.fighter.replay.ReplayRecorder;
 import io.github.hbazai.fighter.resources.Assets;
 import io.github.hbazai.fighter.resources.GlobalVariables;
+import io.github.hbazai.fighter.resources.Roster;
+import io.github.hbazai.fighter.resources.TextureResidency;
+import io.github.hbazai.fighter.simulation.Controls;
+import io.github.hbazai.fighter.simulation.GameEvent;
+import io.github.hbazai.fighter.simulation.Match;
+import io.github.hbazai.fighter.simulation.MatchSnapshot;
+import io.github.hbazai.fighter.simulation.SimulationRunner;
 
 public class GameScreen implements Screen, InputProcessor {
     private final FighterGame game;
     private final ExtendViewport viewport;
 
-    // game
-    private enum GameState {
-        RUNNING,
-        PAUSE,
-        GAME_OVER
-    }
-
-    private GameState gameState;
-    private GlobalVariables.Difficulty difficulty = GlobalVariables.Difficulty.EASY;
-
-    // rounds
-    private enum RoundState {
-        STARTING,
-        IN_PROGRESS,
-        ENDING
-    }
-
-    private RoundState roundState;
-    private float roundStateTime;
-    public static final float START_ROUND_DELAY = 2f;
-    public static final float END_ROUND_DELAY = 2f;
-    private int currentRound;
-    public static final int MAX_ROUNDS = 3;
-
+    // Simulation
+    private final Match match;
+    private final SimulationRunner simulation;
 
-    private int roundWin = 0, roundLost = 0;
-    private static final float MAX_ROUND_TIME = 99.99f;
-    private float roundTimer = MAX_ROUND_TIME;
     public static final float CRITICAL_ROUND_TIME = 10f;
     public static final Color CRITICAL_ROUND_TIME_COLOR = Color.RED;
     // fonts
-    private BitmapFont smallFont, mediumFont, largeFont;
+    private BitmapFont smallFont, mediumFont;
     private static final Color DEFUALT_FONT_COLOR = Color.WHITE;
 
+    // HUD text, only laid out again when the value it shows changes
+    private HudLabel winsLabel, difficultyLabel, playerNameLabel, opponentNameLabel, roundTimerLabel, startRoundLabel;
+    private static final int FIGHT_TEXT_KEY = -1;
+    // Names the name labels show, compared rather than hashed since different names can share a hash code
+    private String playerName, opponentName;
+
     // HUD
     public static final Color HEALTH_BAR_COLOR = Color.RED;
     public static final Color HEALTH_BAR_BACKGROUND_COLOR = GlobalVariables.GOLD;
 
 
     //Background/ring
-    private Texture backgroundTexture;
-    private Texture frontRopesTexture;
-
-    // Bound of Ring
-    public static final float RING_MIN_X = 7f;
-    public static final float RING_MAX_X = 60f;
-    public static final float RING_MIN_Y = 4f;
-    public static final float RING_MAX_Y = 22f;
-    public static final float RING_SLOPE = 3.16f;
-
-    // Fighters
-    private static final float PLAYER_START_POSITION_X = 16f;
-    public static final float OPPONET_START_POSITION_X = 51f;
-    public static final float FIGHTER_START_POSITION_Y = 15f;
-    public static final float FIGHTER_CONTACT_DISTANCE_X = 7.5f;
-    public static final float FIGHTER_CONTACT_DISTANCE_Y = 1.5f;
+    private TextureRegion backgroundTexture;
+    private TextureRegion frontRopesTexture;
+
+    // Solid white pixel of the gameplay atlas, used to draw HUD gauges without leaving the sprite batch
+    private TextureRegion whiteRegion;
+
+    // World objects drawn back to front
+    private final RenderQueue renderQueue = new RenderQueue(8);
+    private final int playerHandle, opponentHandle;
+    private final ImpactParticles impactParticles;
+
+    // Drops the frame rate while nothing on screen needs it
+    private final RenderScheduler renderScheduler = new RenderScheduler();
+
+    // Whether the fighters' hitboxes and hurtboxes are outlined, toggled with F2
+    private boolean showBoxes;
+
+    // Render statistics
+    private final PerformanceOverlay performanceOverlay;
+    private int lastTotalRenderCalls;
+
+    // Evictions of the texture residency when the regions and fonts were last looked up
+    private int evictions;
+    private int renderCalls;
 
     public GameScreen(FighterGame game) {
         this.game = game;
@@ -98,33 +94,70 @@ public class GameScreen implements Screen, InputProcessor {
         // Create the game area
         createGameArea();
 
+        // Create the match and the fixed rate simulation driving it
+        match = new Match(game.player, game.opponent);
+        simulation = game.simulationRunners.create(match);
+        playerHandle = renderQueue.add(game.player::render);
+        opponentHandle = renderQueue.add(game.opponent::render);
+        impactParticles = new ImpactParticles(game.assets.manager.get(Assets.GAMEPLAY_ATLAS, TextureAtlas.class), renderQueue);
+        simulation.getEvents().addListener(game.audio);
+        simulation.getEvents().addListener(impactParticles);
+
         // Setup fonts
         setupFonts();
+        performanceOverlay = new PerformanceOverlay(smallFont);
+        evictions = game.assets.residency.getEvictions();
     }
 
     private void setupFonts() {
-        smallFont = game.assets.manager.get(Assets.SMALL_FONT);
-        smallFont.getData().setScale(GlobalVariables.WORLD_SCALE);
+        smallFont = game.assets.getFont(Assets.SMALL_FONT);
+        smallFont.getData().setScale(GlobalVariables.WORLD_SCALE * game.assets.getFontScale(Assets.SMALL_FONT));
         smallFont.setColor(DEFUALT_FONT_COLOR);
         smallFont.setUseIntegerPositions(false);
 
-        mediumFont = game.assets.manager.get(Assets.MEDIUM_FONT);
-        mediumFont.getData().setScale(GlobalVariables.WORLD_SCALE);
+        mediumFont = game.assets.getFont(Assets.MEDIUM_FONT);
+        mediumFont.getData().setScale(GlobalVariables.WORLD_SCALE * game.assets.getFontScale(Assets.MEDIUM_FONT));
         mediumFont.setColor(DEFUALT_FONT_COLOR);
         mediumFont.setUseIntegerPositions(false);
 
-        largeFont = game.assets.manager.get(Assets.LARGE_FONT);
-        largeFont.getData().setScale(GlobalVariables.WORLD_SCALE);
-        largeFont.setColor(DEFUALT_FONT_COLOR);
-        largeFont.setUseIntegerPositions(false);
+        winsLabel = new HudLabel(smallFont, Align.left);
+        difficultyLabel = new HudLabel(smallFont, Align.right);
+        playerNameLabel = new HudLabel(smallFont, Align.left);
+        opponentNameLabel = new HudLabel(smallFont, Align.right);
+        roundTimerLabel = new HudLabel(mediumFont, Align.left);
+        startRoundLabel = new HudLabel(mediumFont, Align.center);
     }
 
     private void createGameArea() {
-        // Get the ring texture from assets
-        backgroundTexture = game.assets.manager.get(Assets.BACKGROUND_TEXTURE);
-        frontRopesTexture = game.assets.manager.get(Assets.FRONT_REPOES_TEXTURE);
+        // Get the ring textures from the gameplay atlas, they share a page with the fighters' sprite sheets
+        TextureAtlas atlas = game.assets.manager.get(Assets.GAMEPLAY_ATLAS);
+        backgroundTexture = atlas.findRegion(Assets.BACKGROUND_TEXTURE);
+        frontRopesTexture = atlas.findRegion(Assets.FRONT_REPOES_TEXTURE);
+        whiteRegion = atlas.findRegion(Assets.WHITE_REGION);
+    }
+
+    private boolean requestTextures() {
+        // Not short-circuited, so every asset is recorded as drawn even while another one is loading
+        TextureResidency residency = game.assets.residency;
+        boolean resident = residency.request(Assets.GAMEPLAY_ATLAS)
+            & game.assets.requestFont(Assets.SMALL_FONT)
+            & game.assets.requestFont(Assets.MEDIUM_FONT);
+        if (resident && evictions != residency.getEvictions()) {
+            // Something was evicted since the regions and fonts were looked up, they may belong to a disposed asset
+            evictions = residency.getEvictions();
+            createGameArea();
+            impactParticles.setAtlas(game.assets.manager.get(Assets.GAMEPLAY_ATLAS, TextureAtlas.class));
+            game.player.updateAnimations(game);
+            game.opponent.updateAnimations(game);
+            setupFonts();
+            performanceOverlay.setFont(smallFont);
+            playerName = opponentName = null;
+        }
+        return resident;
+    }
 
-        backgroundTexture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+    public int getRenderCalls() {
+        return renderCalls;
     }
 
     @Override
@@ -133,65 +166,43 @@ public class GameScreen implements Screen, InputProcessor {
         Gdx.input.setInputProcessor(this);
 
         // Start the game
-        startGame();
-    }
-
-    private void startGame() {
-        gameState = GameState.RUNNING;
-        roundWin = roundLost = 0;
-
-        // Start round 1
-        currentRound = 1;
-        startRound();
-    }
-
-    private void startRound() {
-        // get the fighters ready
-        game.player.getReady(PLAYER_START_POSITION_X, FIGHTER_START_POSITION_Y);
-        game.opponent.getReady(OPPONET_START_POSITION_X, FIGHTER_START_POSITION_Y);
-
-        // Start the round
-        roundState = RoundState.STARTING;
-        roundStateTime = 0f;
-        roundTimer = MAX_ROUND_TIME;
+        simulation.start();
+        game.audio.playMusic();
+        renderScheduler.setUnfocused(game.isUnfocused());
     }
 
-    private void endRound() {
-        // End the round
-        roundState = RoundState.ENDING;
-        roundStateTime = 0f;
-    }
-
-    private void winRound() {
-        // player wins the round and opponet loses
-        game.player.win();
-        game.opponent.lose();
-        roundWin++;
-
-        // end the round
-        endRound();
-    }
-
-    private void loseRound() {
-        // player loses the round and opponet wins
-        game.player.lose();
-        game.opponent.win();
-        roundLost++;
-
-        // end the round
-        endRound();
+    /**
+     * Throttles rendering while the window is unfocused, see {@link RenderScheduler}.
+     */
+    public void setUnfocused(boolean unfocused) {
+        renderScheduler.setUnfocused(unfocused);
     }
 
     @Override
     public void render(float delta) {
+        performanceOverlay.beginFrame();
         ScreenUtils.clear(0, 0, 0, 1);
 
-        // Update the game
-        update(delta);
+        // Let the simulation catch up and interpolate the fighters between its last two ticks
+        simulation.frame(delta);
+        MatchSnapshot snapshot = simulation.getSnapshot();
+        game.player.interpolate(snapshot.previousPlayer, snapshot.player, simulation.getAlpha());
+        game.opponent.interpolate(snapshot.previousOpponent, snapshot.opponent, simulation.getAlpha());
+        // Let audio, effects and stats react to what happened since the last frame
+        simulation.getEvents().drain();
+        impactParticles.update(delta);
+        scheduleRendering(snapshot);
+        renderScheduler.frame(delta);
+        performanceOverlay.mark(PerformanceOverlay.UPDATE);
+
+        // Draw nothing while a texture this screen draws is loaded again after it was evicted
+        if (!requestTextures()) {
+            performanceOverlay.endFrame(0, delta);
+            return;
+        }
 
-        // Set the sprite batch & the shape renderer to use the viewport's camera
+        // Set the sprite batch to use the viewport's camera
         game.batch.setProjectionMatrix(viewport.getCamera().combined);
-        game.shapeRenderer.setProjectionMatrix(viewport.getCamera().combined);
 
         // Begin drawing
         game.batch.begin();
@@ -201,68 +212,58 @@ public class GameScreen implements Screen, InputProcessor {
             backgroundTexture,
             0,
             0,
-            backgroundTexture.getWidth() * GlobalVariables.WORLD_SCALE,
-            backgroundTexture.getHeight() * GlobalVariables.WORLD_SCALE
+            backgroundTexture.getRegionWidth() * GlobalVariables.WORLD_SCALE,
+            backgroundTexture.getRegionHeight() * GlobalVariables.WORLD_SCALE
         );
+        performanceOverlay.mark(PerformanceOverlay.BACKGROUND);
 
         // Draw the fighters
         renderFighters();
+        performanceOverlay.mark(PerformanceOverlay.FIGHTERS);
 
         // Draw the front ropes
         game.batch.draw(
             frontRopesTexture,
             0,
             0,
-            frontRopesTexture.getWidth() * GlobalVariables.WORLD_SCALE,
-            frontRopesTexture.getHeight() * GlobalVariables.WORLD_SCALE
+            frontRopesTexture.getRegionWidth() * GlobalVariables.WORLD_SCALE,
+            frontRopesTexture.getRegionHeight() * GlobalVariables.WORLD_SCALE
         );
+        performanceOverlay.mark(PerformanceOverlay.BACKGROUND);
 
         // Draw the HUD
-        renderHUD();
+        renderHUD(snapshot);
 
         // if the round is starting, draw the start round text
-        if (roundState == RoundState.STARTING) {
-            renderStartRoundText();
+        if (snapshot.roundState == Match.RoundState.STARTING) {
+            renderStartRoundText(snapshot);
         }
+        endText();
+
+        // Draw the performance overlay, when it is shown: its panel with the sprite shader like the gauges, then its text
+        // with the font shader like the rest of the HUD text
+        if (performanceOverlay.isVisible()) {
+            float overlayY = viewport.getWorldHeight() * 0.75f;
+            performanceOverlay.renderPanel(game.batch, whiteRegion, smallFont, 1f, overlayY);
+            beginText(Assets.SMALL_FONT);
+            performanceOverlay.renderText(game.batch, smallFont, 1f, overlayY);
+            endText();
+        }
+        performanceOverlay.mark(PerformanceOverlay.HUD_TEXT);
 
         // End drawing
         game.batch.end();
+        performanceOverlay.mark(PerformanceOverlay.FLUSH);
+
+        // Count the batch flushes of this frame, the performance overlay shows them
+        renderCalls = game.batch.totalRenderCalls - lastTotalRenderCalls;
+        lastTotalRenderCalls = game.batch.totalRenderCalls;
+        performanceOverlay.endFrame(renderCalls, delta);
     }
 
-    private void renderHUD() {
+    private void renderHUD(MatchSnapshot snapshot) {
         float HUDMargin = 1f;
 
-        // draw the rounds won to lost ratio
-        smallFont.draw(
-            game.batch,
-            "WINS:" + roundWin + " - " + roundLost,
-            HUDMargin,
-            viewport.getWorldHeight() - HUDMargin
-        );
-
-        // Draw the difficulty settings
-        String text = "DIFFICULTY: ";
-        switch (difficulty) {
-            case EASY:
-                text += "EASY";
-                break;
-            case MEDIUM:
-                text += "MEDIUM";
-                break;
-            default:
-                text += "HARD";
-                break;
-        }
-        smallFont.draw(
-            game.batch,
-            text,
-            viewport.getMaxWorldWidth() - HUDMargin,
-            viewport.getWorldHeight() - HUDMargin,
-            0,
-            Align.right,
-            false
-        );
-
         // setup the layout sizes and positioning
         float healthBarPadding = 0.5f;
         float healthBarHeight = smallFont.getCapHeight() + healthBarPadding * 2f;
@@ -275,164 +276,110 @@ public class GameScreen implements Screen, InputProcessor {
         float healthBarPositionY = healthBarBackgroundPositionY + healthBarBackgroundPadding;
         float fighterNamePositionY = healthBarPositionY + healthBarHeight - healthBarPadding;
 
-        game.batch.end();
-        game.shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-
+        // Draw the gauges before any text, the White region is packed on the one gameplay atlas page with the ring and the
+        // fighters, so the gauges join the world's draw call
         // Draw the fighter healthBar background rectangles
-        game.shapeRenderer.setColor(HEALTH_BAR_BACKGROUND_COLOR);
-        game.shapeRenderer.rect(HUDMargin, healthBarBackgroundPositionY, healthBarBackgroundWidth, healthBarBackgroundHeight);
-        game.shapeRenderer.rect(viewport.getWorldWidth() - HUDMargin - healthBarBackgroundWidth, healthBarBackgroundPositionY, healthBarBackgroundWidth, healthBarBackgroundHeight);
+        drawRectangle(HUDMargin, healthBarBackgroundPositionY, healthBarBackgroundWidth, healthBarBackgroundHeight, HEALTH_BAR_BACKGROUND_COLOR);
+        drawRectangle(viewport.getWorldWidth() - HUDMargin - healthBarBackgroundWidth, healthBarBackgroundPositionY, healthBarBackgroundWidth, healthBarBackgroundHeight, HEALTH_BAR_BACKGROUND_COLOR);
 
         // draw the fighter healthBar rectangles
-        game.shapeRenderer.setColor(HEALTH_BAR_COLOR);
-        float healthBarWidth = healthBarMaxWidth * game.player.getLife() / Fighter.MAX_LIFE;
-        game.shapeRenderer.rect(HUDMargin + healthBarBackgroundPadding, healthBarPositionY, healthBarWidth, healthBarHeight);
-        healthBarWidth = healthBarMaxWidth * game.opponent.getLife() / Fighter.MAX_LIFE;
-        game.shapeRenderer.rect(viewport.getWorldWidth() - HUDMargin - healthBarBackgroundPadding - healthBarWidth, healthBarPositionY, healthBarWidth, healthBarHeight);
+        float healthBarWidth = healthBarMaxWidth * snapshot.player.life / Fighter.MAX_LIFE;
+        drawRectangle(HUDMargin + healthBarBackgroundPadding, healthBarPositionY, healthBarWidth, healthBarHeight, HEALTH_BAR_COLOR);
+        healthBarWidth = healthBarMaxWidth * snapshot.opponent.life / Fighter.MAX_LIFE;
+        drawRectangle(viewport.getWorldWidth() - HUDMargin - healthBarBackgroundPadding - healthBarWidth, healthBarPositionY, healthBarWidth, healthBarHeight, HEALTH_BAR_COLOR);
 
-        game.shapeRenderer.end();
-        game.batch.begin();
+        performanceOverlay.mark(PerformanceOverlay.HUD_GAUGES);
+
+        // draw the rounds won to lost ratio
+        beginText(Assets.SMALL_FONT);
+        int winsKey = snapshot.roundWin << 16 | snapshot.roundLost;
+        if (winsLabel.isStale(winsKey, DEFUALT_FONT_COLOR)) {
+            winsLabel.edit().append("WINS:").append(snapshot.roundWin).append(" - ").append(snapshot.roundLost);
+            winsLabel.layout(winsKey, DEFUALT_FONT_COLOR);
+        }
+        winsLabel.draw(game.batch, HUDMargin, viewport.getWorldHeight() - HUDMargin);
+
+        // Draw the difficulty settings
+        int difficultyKey = snapshot.difficulty.ordinal();
+        if (difficultyLabel.isStale(difficultyKey, DEFUALT_FONT_COLOR)) {
+            difficultyLabel.edit().append("DIFFICULTY: ").append(snapshot.difficulty.name());
+            difficultyLabel.layout(difficultyKey, DEFUALT_FONT_COLOR);
+        }
+        difficultyLabel.draw(game.batch, viewport.getMaxWorldWidth() - HUDMargin, viewport.getWorldHeight() - HUDMargin);
 
         // Draw the fighter name
-        smallFont.draw(game.batch, game.player.getName(), HUDMargin + healthBarBackgroundPadding + healthBarPadding, fighterNamePositionY);
-        smallFont.draw(game.batch, game.opponent.getName(), viewport.getWorldWidth() - HUDMargin - healthBarBackgroundPadding - healthBarPadding, fighterNamePositionY, 0, Align.right, false);
+        if (!game.player.getName().equals(playerName)) {
+            playerName = game.player.getName();
+            playerNameLabel.setText(playerName, DEFUALT_FONT_COLOR);
+        }
+        if (!game.opponent.getName().equals(opponentName)) {
+            opponentName = game.opponent.getName();
+            opponentNameLabel.setText(opponentName, DEFUALT_FONT_COLOR);
+        }
+        playerNameLabel.draw(game.batch, HUDMargin + healthBarBackgroundPadding + healthBarPadding, fighterNamePositionY);
+        opponentNameLabel.draw(game.batch, viewport.getWorldWidth() - HUDMargin - healthBarBackgroundPadding - healthBarPadding, fighterNamePositionY);
 
         // Draw Round Timer
-        if (roundTimer < CRITICAL_ROUND_TIME) {
-            mediumFont.setColor(CRITICAL_ROUND_TIME_COLOR);
+        beginText(Assets.MEDIUM_FONT);
+        int roundTimerKey = (int) snapshot.roundTimer;
+        Color roundTimerColor = snapshot.roundTimer < CRITICAL_ROUND_TIME ? CRITICAL_ROUND_TIME_COLOR : DEFUALT_FONT_COLOR;
+        if (roundTimerLabel.isStale(roundTimerKey, roundTimerColor)) {
+            roundTimerLabel.edit().append(roundTimerKey, 2, '0');
+            roundTimerLabel.layout(roundTimerKey, roundTimerColor);
         }
-        mediumFont.draw(
+        roundTimerLabel.draw(
             game.batch,
-            String.format(Locale.getDefault(), "%02d", (int) roundTimer),
             viewport.getWorldWidth() / 2f - mediumFont.getSpaceXadvance() * 2.3f,
             viewport.getWorldHeight() - HUDMargin
         );
-        mediumFont.setColor(DEFUALT_FONT_COLOR);
     }
 
-    private void renderFighters() {
-        // Use y coordinates to determine which fighter to draw first
-        if (game.player.getPosition().y > game.opponent.getPosition().y) {
-            // Draw player
-            game.player.render(game.batch);
-
-            // Draw oppenet
-            game.opponent.render(game.batch);
-        } else {
-            // Draw oppenet
-            game.opponent.render(game.batch);
-
-            // Draw player
-            game.player.render(game.batch);
+    private void beginText(String fontName) {
+        // Switch the batch to the distance field shader with the outline of the given font, if fonts use it
+        if (game.assets.usesDistanceFieldFonts()) {
+            game.assets.getDistanceFieldFonts().begin(game.batch, game.assets.fonts.get(fontName));
         }
     }
 
-    private void renderStartRoundText() {
-        String text;
-        if (roundStateTime < START_ROUND_DELAY * 0.5f) {
-            text = "ROUND " + currentRound;
-        } else {
-            text = "FIGHT!";
+    private void endText() {
+        if (game.assets.usesDistanceFieldFonts()) {
+            game.assets.getDistanceFieldFonts().end(game.batch);
         }
-        mediumFont.draw(
-            game.batch,
-            text,
-            viewport.getWorldWidth() / 2f,
-            viewport.getWorldHeight() / 2f,
-            0,
-            Align.center,
-            false
-        );
     }
 
-    private void update(float deltaTime) {
-
-        if (roundState == RoundState.STARTING && roundStateTime >= START_ROUND_DELAY) {
-            // if the start round delay has been reached, start the fight
-            roundState = RoundState.IN_PROGRESS;
-            roundStateTime = 0f;
-        } else if (roundState == RoundState.ENDING && roundStateTime >= END_ROUND_DELAY) {
-            // if the end round delay has been reached and player has won or lost more than half of the max number of rounds,
-            // end the game; otherwise, start the next round
-            if (roundWin > MAX_ROUNDS / 2 || roundLost > MAX_ROUNDS / 2) {
-                gameState = GameState.GAME_OVER;
-            } else {
-                currentRound++;
-                startRound();
-            }
-        } else {
-            // increament the round state time by delta time
-            roundStateTime += deltaTime;
-        }
-
-        game.player.update(deltaTime);
-        game.opponent.update(deltaTime);
-
-        // make sure fighters are facing each other
-        if (game.player.getPosition().x <= game.opponent.getPosition().x) {
-            game.player.faceRight();
-            game.opponent.faceLeft();
-        } else {
-            game.player.faceLeft();
-            game.opponent.faceRight();
-        }
-
-        // Keep the fighters within the bounds of the ring
-        keepWithinRingBounds(game.player.getPosition());
-        keepWithinRingBounds(game.opponent.getPosition());
-
-        if (roundState == RoundState.IN_PROGRESS) {
-            // if the round is in progress, decrease the round timer by deltaTime
-            roundTimer -= deltaTime;
-
-            if (roundTimer <= 0f) {
-                // if the round timer has finished and player has the same or more life than opponent, player wins the round;
-                // otherwise, player loses the round
-                if (game.player.getLife() >= game.opponent.getLife()) {
-                    winRound();
-                } else {
-                    loseRound();
-                }
-            }
-
-            // Check if the fighters are within contact distance
-            if (areWithinContactDistance(game.player.getPosition(), game.opponent.getPosition())) {
-                if (game.player.isAttackActive()) {
-                    // if the fighters are within contact distance and player is actively attacking, opponent gets hit
-                    game.opponent.getHit(Fighter.HIT_STRENGTH);
-                    // Deactivate player contact to avoid multiple decreasing
-                    game.player.madeContact();
-
-                    // Check if opponent has lost
-                    if (game.opponent.hasLost()) {
-                        // If opponent has lost, player win the round
-                        winRound();
-                    }
-                }
-            }
-        }
+    private void drawRectangle(float x, float y, float width, float height, Color color) {
+        // Stretch the white atlas pixel over the rectangle, tinted with the given color
+        game.batch.setColor(color);
+        game.batch.draw(whiteRegion, x, y, width, height);
+        game.batch.setColor(Color.WHITE);
     }
 
-    private void keepWithinRingBounds(Vector2 position) {
-        if (position.y < RING_MIN_Y) {
-            position.y = RING_MIN_Y;
-        } else if (position.y > RING_MAX_Y) {
-            position.y = RING_MAX_Y;
-        }
-
-        if (position.x < position.y / RING_SLOPE + RING_MIN_X) {
-            position.x = position.y / RING_SLOPE + RING_MIN_X;
-        } else if (position.x > position.y / -RING_SLOPE + RING_MAX_X) {
-            position.x = position.y / -RING_SLOPE + RING_MAX_X;
+    private void renderFighters() {
+        // The queue draws the fighter further up the ring first
+        renderQueue.submit(playerHandle, RenderQueue.LAYER_FIGHTERS, game.player.getRenderPosition().y, game.player.getCurrentFrame().getTexture());
+        renderQueue.submit(opponentHandle, RenderQueue.LAYER_FIGHTERS, game.opponent.getRenderPosition().y, game.opponent.getCurrentFrame().getTexture());
+        impactParticles.submit();
+        renderQueue.render(game.batch);
+
+        if (showBoxes) {
+            // Outline the hitboxes and hurtboxes on top of both fighters
+            game.player.renderBoxes(game.batch, whiteRegion);
+            game.opponent.renderBoxes(game.batch, whiteRegion);
         }
     }
 
-    private boolean areWithinContactDistance(Vector2 position1, Vector2 position2) {
-        // Determine if the position are within the distance in which contact is possible
-        float xDistance = Math.abs(position1.x - position2.x);
-        float yDistance = Math.abs(position1.y - position2.y);
-
-        return xDistance <= FIGHTER_CONTACT_DISTANCE_X && yDistance <= FIGHTER_CONTACT_DISTANCE_Y;
+    private void renderStartRoundText(MatchSnapshot snapshot) {
+        beginText(Assets.MEDIUM_FONT);
+        int key = snapshot.roundStateTime < Match.START_ROUND_DELAY * 0.5f ? snapshot.currentRound : FIGHT_TEXT_KEY;
+        if (startRoundLabel.isStale(key, DEFUALT_FONT_COLOR)) {
+            if (key == FIGHT_TEXT_KEY) {
+                startRoundLabel.edit().append("FIGHT!");
+            } else {
+                startRoundLabel.edit().append("ROUND ").append(snapshot.currentRound);
+            }
+            startRoundLabel.layout(key, DEFUALT_FONT_COLOR);
+        }
+        startRoundLabel.draw(game.batch, viewport.getWorldWidth() / 2f, viewport.getWorldHeight() / 2f);
     }
 
     @Override
@@ -441,89 +388,128 @@ public class GameScreen implements Screen, InputProcessor {
         viewport.update(width, height, true);
     }
 
+    private void scheduleRendering(MatchSnapshot snapshot) {
+        // Only the fight itself and flying blood need every frame, the round delays and the game over screen just
+        // have idle animations and text
+        boolean fighting = snapshot.gameState == Match.GameState.RUNNING && snapshot.roundState == Match.RoundState.IN_PROGRESS;
+        boolean active = fighting || impactParticles.getParticleCount() > 0;
+        renderScheduler.setMode(active ? RenderScheduler.Mode.ACTIVE : RenderScheduler.Mode.IDLE);
+    }
+
     @Override
     public void pause() {
-
+        // Nothing runs in the background: no ticks, no frames, no music
+        simulation.pause();
+        game.audio.pauseMusic();
+        renderScheduler.setMode(RenderScheduler.Mode.PAUSED);
+        renderScheduler.log();
     }
 
     @Override
     public void resume() {
-
+        simulation.resume();
+        game.audio.playMusic();
+        // The next frame picks the mode again
+        renderScheduler.setMode(RenderScheduler.Mode.ACTIVE);
     }
 
     @Override
     public void hide() {
-
+        simulation.stop();
+        game.audio.pauseMusic();
+        renderScheduler.setMode(RenderScheduler.Mode.ACTIVE);
+        renderScheduler.log();
+        saveReplay();
+    }
+
+    private void saveReplay() {
+        // Keep every game for bug reports and offline analysis
+        ReplayRecorder recorder = simulation.getRecorder();
+        if (recorder.getTickCount() == 0 || !Gdx.files.isLocalStorageAvailable()) return;
+        FileHandle file = Gdx.files.local(ReplayRecorder.DIRECTORY + TimeUtils.millis() + ReplayRecorder.EXTENSION);
+        try {
+            recorder.save(file, match);
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("GameScreen", "Could not save replay " + file, e);
+        }
     }
 
     @Override
     public void dispose() {
-
+        simulation.stop();
+        performanceOverlay.dispose();
     }
 
     @Override
     public boolean keyDown(int keycode) {
-        if (keycode == Input.Keys.SPACE) {
-            if (gameState == GameState.RUNNING) {
-                // If the game is running the space key has been pressed, skip any round delay
-                if (roundState == RoundState.STARTING) {
-                    roundStateTime = START_ROUND_DELAY;
-                } else if (roundState == RoundState.ENDING) {
-                    roundStateTime = END_ROUND_DELAY;
-                }
-            } else if (gameState == GameState.GAME_OVER) {
-                // if the game is over and the space key has been pressed, restart the game
-                startGame();
+        if (keycode == Input.Keys.F2) {
+            showBoxes = !showBoxes;
+        } else if (keycode == Input.Keys.F3) {
+            performanceOverlay.toggle();
+        } else if (keycode == Input.Keys.F4) {
+            performanceOverlay.dump();
+        } else if (keycode == Input.Keys.F5) {
+            nextCharacter(GameEvent.PLAYER);
+        } else if (keycode == Input.Keys.F6) {
+            nextCharacter(GameEvent.OPPONENT);
+        } else if (keycode == Input.Keys.SPACE) {
+            // Skip any round delay while the game is running, or restart the game if it is over
+            if (simulation.getSnapshot().gameState == Match.GameState.GAME_OVER) {
+                game.audio.play(AudioEngine.CLICK);
             }
+            simulation.command(Match.COMMAND_SKIP_DELAY | Match.COMMAND_RESTART);
         } else {
-            if (roundState == RoundState.IN_PROGRESS) {
-                // Check if the player has pressed a movement key
-                if (keycode == Input.Keys.LEFT || keycode == Input.Keys.A) {
-                    game.player.moveLeft();
-                } else if (keycode == Input.Keys.RIGHT || keycode == Input.Keys.D) {
-                    game.player.moveRight();
-                }
-
-                if (keycode == Input.Keys.UP || keycode == Input.Keys.W) {
-                    game.player.moveUp();
-                } else if (keycode == Input.Keys.DOWN || keycode == Input.Keys.S) {
-                    game.player.moveDown();
-                }
-            }
-
-            // check if the player has pressed block or attack key
-            if (keycode == Input.Keys.B) {
-                game.player.block();
-            } else if (keycode == Input.Keys.F) {
-                game.player.punch();
-            } else if (keycode == Input.Keys.V) {
-                game.player.kick();
-            }
+            // Hand the pressed movement, block or attack key over to the simulation
+            simulation.press(getControl(keycode));
         }
         return true;
     }
 
+    private void nextCharacter(int fighter) {
+        Roster roster = game.assets.getRoster();
+        Fighter picked = getFighter(fighter);
+        Roster.Character character = roster.get((roster.indexOf(picked.getCharacter()) + 1) % roster.size());
+
+        // The simulation thread reads the fighter's frame data, so it waits while the character is swapped
+        simulation.pause();
+        game.pickCharacter(picked, character);
+        simulation.resume();
+    }
+
+    private Fighter getFighter(int fighter) {
+        return fighter == GameEvent.PLAYER ? game.player : game.opponent;
+    }
+
     @Override
     public boolean keyUp(int keycode) {
         // Check if player release the pressed key
-        if (keycode == Input.Keys.LEFT || keycode == Input.Keys.A) {
-            game.player.stopMovingLeft();
-        } else if (keycode == Input.Keys.RIGHT || keycode == Input.Keys.D) {
-            game.player.stopMovingRight();
-        }
-
-        if (keycode == Input.Keys.UP || keycode == Input.Keys.W) {
-            game.player.stopMovingUp();
-        } else if (keycode == Input.Keys.DOWN || keycode == Input.Keys.S) {
-            game.player.stopMovingDown();
-        }
+        simulation.release(getControl(keycode));
+        return true;
+    }
 
-        // if the player released the block key
-        if (keycode == Input.Keys.B) {
-            game.player.stopBlocking();
+    static int getControl(int keycode) {
+        switch (keycode) {
+            case Input.Keys.LEFT:
+            case Input.Keys.A:
+                return Controls.LEFT;
+            case Input.Keys.RIGHT:
+            case Input.Keys.D:
+                return Controls.RIGHT;
+            case Input.Keys.UP:
+            case Input.Keys.W:
+                return Controls.UP;
+            case Input.Keys.DOWN:
+            case Input.Keys.S:
+                return Controls.DOWN;
+            case Input.Keys.B:
+                return Controls.BLOCK;
+            case Input.Keys.F:
+                return Controls.PUNCH;
+            case Input.Keys.V:
+                return Controls.KICK;
+            default:
+                return Controls.NONE;
         }
-
-        return true;
     }
 
     @Override
@@ -537,15 +523,15 @@ public class GameScreen implements Screen, InputProcessor {
         Vector3 position = new Vector3(screenX, screenY, 0);
         viewport.getCamera().unproject(position, viewport.getScreenX(), viewport.getScreenY(), viewport.getScreenWidth(), viewport.getScreenHeight());
 
-        if (gameState == GameState.RUNNING) {
-            if (roundState == RoundState.STARTING) {
-                // if the round is starting and the screen has been touched, skip the start round delay
-                roundStateTime = START_ROUND_DELAY;
-            } else if (roundState == RoundState.ENDING) {
-                // if the round is ending and the screen has been touched, skip the end round delay
-                roundStateTime = END_ROUND_DELAY;
-            }
+        // A third finger toggles the performance overlay and a fourth one dumps its frames, for devices without keys
+        if (pointer == 2) {
+            performanceOverlay.toggle();
+        } else if (pointer == 3) {
+            performanceOverlay.dump();
         }
+
+        // if the round is starting or ending and the screen has been touched, skip the round delay
+        simulation.command(Match.COMMAND_SKIP_DELAY);
         return true;
     }
 
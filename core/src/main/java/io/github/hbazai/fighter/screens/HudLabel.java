@@ -0,0 +1,58 @@
+package io.github.hbazai.fighter.screens;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.StringBuilder;
+
+/**
+ * A piece of HUD text with its own reusable text buffer and cached {@link GlyphLayout}. The text is only built and laid
+ * out again when the key of the values it shows or its color changes, so drawing an unchanged label allocates nothing.
+ */
+public class HudLabel {
+    private final BitmapFont font;
+    private final int halign;
+    private final StringBuilder text = new StringBuilder(32);
+    private final GlyphLayout layout = new GlyphLayout();
+    private final Color color = new Color();
+    private int key;
+    private boolean laidOut;
+
+    public HudLabel(BitmapFont font, int halign) {
+        this.font = font;
+        this.halign = halign;
+    }
+
+    public boolean isStale(int key, Color color) {
+        return !laidOut || key != this.key || !color.equals(this.color);
+    }
+
+    /**
+     * Returns the cleared text buffer, to be filled before calling {@link #layout(int, Color)}.
+     */
+    public StringBuilder edit() {
+        text.setLength(0);
+        return text;
+    }
+
+    public void layout(int key, Color color) {
+        this.key = key;
+        this.color.set(color);
+        layout.setText(font, text, 0, text.length(), color, 0f, halign, false, null);
+        laidOut = true;
+    }
+
+    public void setText(CharSequence value, Color color) {
+        edit().append(value);
+        layout(0, color);
+    }
+
+    public float getWidth() {
+        return layout.width;
+    }
+
+    public void draw(Batch batch, float x, float y) {
+        font.draw(batch, layout, x, y);
+    }
+}
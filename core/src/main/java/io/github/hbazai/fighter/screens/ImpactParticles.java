@@ -0,0 +1,233 @@
+package io.github.hbazai.fighter.screens;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+
+import io.github.hbazai.fighter.resources.Assets;
+import io.github.hbazai.fighter.resources.GlobalVariables;
+import io.github.hbazai.fighter.simulation.GameEvent;
+import io.github.hbazai.fighter.simulation.GameEvents;
+
+/**
+ * Blood splatter flying off the fighters when they are hit, and the pools it leaves on the canvas. Splatter lives in
+ * fixed size parallel arrays: a dense list of live particles is updated every frame, and dead particles go back to a
+ * free list to be reused. Pools are kept in a ring, the oldest one is painted over once it is full.
+ * <p>
+ * Both are drawn through the {@link RenderQueue} from the gameplay atlas. packTextures keeps the blood on the one page
+ * the ring and the fighters are drawn from, so they add no draw call. Nothing is allocated after construction, unless
+ * the atlas is loaded again.
+ */
+public class ImpactParticles implements GameEvents.Listener {
+    public static final int MAX_PARTICLES = 1024;
+    public static final int MAX_POOLS = 64;
+
+    private static final int HIT_PARTICLES = 24;
+    private static final int KO_PARTICLES = 96;
+
+    // Where the hits land on a fighter, from its position, and how the splatter flies
+    private static final float IMPACT_X = 6.3f;
+    private static final float IMPACT_HEIGHT = 11f;
+    private static final float GRAVITY = -60f;
+    private static final float MIN_SPEED = 6f, MAX_SPEED = 22f;
+    private static final float MIN_LIFE = 0.4f, MAX_LIFE = 0.9f;
+    private static final float MIN_SCALE = 0.08f, MAX_SCALE = 0.22f;
+
+    // Chance a landing particle leaves a small stain, and how long a pool takes to spread
+    private static final float STAIN_CHANCE = 0.1f;
+    private static final float SPREAD_TIME = 1.5f;
+
+    private TextureRegion[] splatters;
+    private TextureRegion[] pools;
+
+    // Particles, indexed by particle. Height is above the ground at depth y
+    private final float[] x = new float[MAX_PARTICLES], y = new float[MAX_PARTICLES], height = new float[MAX_PARTICLES];
+    private final float[] velocityX = new float[MAX_PARTICLES], velocityHeight = new float[MAX_PARTICLES];
+    private final float[] life = new float[MAX_PARTICLES], maxLife = new float[MAX_PARTICLES];
+    private final float[] scale = new float[MAX_PARTICLES];
+    private final float[] rotation = new float[MAX_PARTICLES], spin = new float[MAX_PARTICLES];
+    private final byte[] region = new byte[MAX_PARTICLES];
+
+    // Live particles and particles free for reuse
+    private final int[] live = new int[MAX_PARTICLES];
+    private int liveCount;
+    private final int[] free = new int[MAX_PARTICLES];
+    private int freeCount;
+
+    // Pools, indexed by pool
+    private final float[] poolX = new float[MAX_POOLS], poolY = new float[MAX_POOLS];
+    private final float[] poolScale = new float[MAX_POOLS], poolAge = new float[MAX_POOLS];
+    private final byte[] poolRegion = new byte[MAX_POOLS];
+    private int poolCount, nextPool;
+
+    private final RenderQueue queue;
+    private final int particlesHandle, poolsHandle;
+
+    public ImpactParticles(TextureAtlas atlas, RenderQueue queue) {
+        setAtlas(atlas);
+
+        this.queue = queue;
+        particlesHandle = queue.add(this::renderParticles);
+        poolsHandle = queue.add(this::renderPools);
+        clear();
+    }
+
+    /**
+     * Takes the blood regions from the given atlas, when the gameplay atlas was loaded again.
+     */
+    public void setAtlas(TextureAtlas atlas) {
+        Array<TextureAtlas.AtlasRegion> splatterRegions = atlas.findRegions(Assets.BLOOD_SPLATTER_REGION);
+        splatters = new TextureRegion[splatterRegions.size];
+        for (int i = 0; i < splatters.length; i++) {
+            splatters[i] = splatterRegions.get(i);
+        }
+        pools = new TextureRegion[Assets.BLOOD_POOL_REGIONS];
+        for (int i = 0; i < pools.length; i++) {
+            pools[i] = atlas.findRegion(Assets.BLOOD_POOL_REGION + i);
+        }
+    }
+
+    public int getParticleCount() {
+        return liveCount;
+    }
+
+    public void clear() {
+        liveCount = 0;
+        freeCount = 0;
+        for (int i = MAX_PARTICLES - 1; i >= 0; i--) {
+            free[freeCount++] = i;
+        }
+        poolCount = nextPool = 0;
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        switch (event.type) {
+            case GameEvent.HIT:
+                burst(event.x + IMPACT_X, event.y, event.direction, HIT_PARTICLES);
+                break;
+            case GameEvent.KO:
+                burst(event.x + IMPACT_X, event.y, event.direction, KO_PARTICLES);
+                addPool(event.x + IMPACT_X, event.y, MathUtils.random(0.5f, 0.7f));
+                break;
+            case GameEvent.ROUND_START:
+                // A new game starts on a clean canvas
+                if (event.round == 1) clear();
+                break;
+        }
+    }
+
+    public void burst(float impactX, float impactY, int direction, int count) {
+        for (int n = 0; n < count && freeCount > 0; n++) {
+            int i = free[--freeCount];
+            live[liveCount++] = i;
+
+            // Fan out away from the attacker, mostly upwards
+            float angle = MathUtils.random(-35f, 70f) * MathUtils.degreesToRadians;
+            float speed = MathUtils.random(MIN_SPEED, MAX_SPEED);
+            x[i] = impactX;
+            // Slightly in front of the fighter, so the splatter is drawn over it
+            y[i] = impactY - 0.01f;
+            height[i] = IMPACT_HEIGHT + MathUtils.random(-1.5f, 1.5f);
+            velocityX[i] = MathUtils.cos(angle) * speed * direction;
+            velocityHeight[i] = MathUtils.sin(angle) * speed;
+            life[i] = maxLife[i] = MathUtils.random(MIN_LIFE, MAX_LIFE);
+            scale[i] = MathUtils.random(MIN_SCALE, MAX_SCALE);
+            rotation[i] = MathUtils.random(360f);
+            spin[i] = MathUtils.random(-720f, 720f);
+            region[i] = (byte) MathUtils.random(splatters.length - 1);
+        }
+    }
+
+    private void addPool(float poolX, float poolY, float scale) {
+        int i = nextPool;
+        nextPool = (nextPool + 1) % MAX_POOLS;
+        poolCount = Math.min(poolCount + 1, MAX_POOLS);
+        this.poolX[i] = poolX;
+        this.poolY[i] = poolY;
+        poolScale[i] = scale;
+        poolAge[i] = 0f;
+        poolRegion[i] = (byte) MathUtils.random(pools.length - 1);
+    }
+
+    public void update(float delta) {
+        for (int n = liveCount - 1; n >= 0; n--) {
+            int i = live[n];
+            life[i] -= delta;
+            velocityHeight[i] += GRAVITY * delta;
+            x[i] += velocityX[i] * delta;
+            height[i] += velocityHeight[i] * delta;
+            rotation[i] += spin[i] * delta;
+
+            boolean landed = height[i] <= 0f;
+            if (landed && MathUtils.randomBoolean(STAIN_CHANCE)) {
+                addPool(x[i], y[i], scale[i] * 0.6f);
+            }
+            if (landed || life[i] <= 0f) {
+                // Swap the last live particle in and give this one back
+                live[n] = live[--liveCount];
+                free[freeCount++] = i;
+            }
+        }
+
+        for (int i = 0; i < poolCount; i++) {
+            poolAge[i] += delta;
+        }
+    }
+
+    /**
+     * Submits the pools and the splatter to the render queue, when there is any.
+     */
+    public void submit() {
+        if (poolCount > 0) {
+            queue.submit(poolsHandle, RenderQueue.LAYER_GROUND, 0f, pools[0].getTexture());
+        }
+        if (liveCount > 0) {
+            // Draw the splatter in front of the nearest fighter it came from
+            float depth = Float.MAX_VALUE;
+            for (int n = 0; n < liveCount; n++) {
+                depth = Math.min(depth, y[live[n]]);
+            }
+            queue.submit(particlesHandle, RenderQueue.LAYER_FIGHTERS, depth, splatters[0].getTexture());
+        }
+    }
+
+    private void renderParticles(SpriteBatch batch) {
+        for (int n = 0; n < liveCount; n++) {
+            int i = live[n];
+            TextureRegion splatter = splatters[region[i]];
+            float width = splatter.getRegionWidth() * GlobalVariables.WORLD_SCALE;
+            float regionHeight = splatter.getRegionHeight() * GlobalVariables.WORLD_SCALE;
+            batch.setColor(1f, 1f, 1f, Math.min(life[i] / maxLife[i] * 2f, 1f));
+            batch.draw(
+                splatter,
+                x[i] - width * 0.5f, y[i] + height[i] - regionHeight * 0.5f,
+                width * 0.5f, regionHeight * 0.5f,
+                width, regionHeight,
+                scale[i], scale[i],
+                rotation[i]
+            );
+        }
+        batch.setColor(1f, 1f, 1f, 1f);
+    }
+
+    private void renderPools(SpriteBatch batch) {
+        for (int i = 0; i < poolCount; i++) {
+            TextureRegion pool = pools[poolRegion[i]];
+            float width = pool.getRegionWidth() * GlobalVariables.WORLD_SCALE;
+            float poolHeight = pool.getRegionHeight() * GlobalVariables.WORLD_SCALE;
+            // Pools spread out from nothing after they are spilled
+            float spread = poolScale[i] * Math.min(poolAge[i] / SPREAD_TIME + 0.2f, 1f);
+            batch.draw(
+                pool,
+                poolX[i] - width * 0.5f, poolY[i] - poolHeight * 0.5f,
+                width * 0.5f, poolHeight * 0.5f,
+                width, poolHeight,
+                spread, spread,
+                0f
+            );
+        }
+    }
+}
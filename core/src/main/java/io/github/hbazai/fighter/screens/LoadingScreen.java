@@ -0,0 +1,102 @@
+package io.github.hbazai.fighter.screens;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+
+import io.github.hbazai.fighter.FighterGame;
+import io.github.hbazai.fighter.resources.GlobalVariables;
+
+/**
+ * Loads the queued assets a few milliseconds per frame while drawing a progress bar, so the GL thread never blocks for
+ * the whole load.
+ */
+public class LoadingScreen implements Screen {
+    private final FighterGame game;
+    private final FitViewport viewport;
+
+    // Milliseconds of loading work done per frame
+    private final int timeBudget;
+
+    // Progress bar
+    public static final Color PROGRESS_BAR_COLOR = GlobalVariables.GOLD;
+    public static final Color PROGRESS_BAR_BACKGROUND_COLOR = new Color(0.2f, 0.2f, 0.2f, 1f);
+    private static final float PROGRESS_BAR_WIDTH = 40f;
+    private static final float PROGRESS_BAR_HEIGHT = 1.5f;
+    private final Texture pixel;
+    private float progress;
+
+    public LoadingScreen(FighterGame game, int timeBudget) {
+        this.game = game;
+        this.timeBudget = timeBudget;
+
+        viewport = new FitViewport(GlobalVariables.WORLD_WIDTH, GlobalVariables.WORLD_HEIGHT);
+
+        // Nothing is loaded yet, so the progress bar is drawn with its own white pixel
+        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        pixmap.setColor(Color.WHITE);
+        pixmap.fill();
+        pixel = new Texture(pixmap);
+        pixmap.dispose();
+    }
+
+    @Override
+    public void show() {
+
+    }
+
+    @Override
+    public void render(float delta) {
+        // Load for at most the time budget, and switch to the game once everything is loaded
+        if (game.assets.manager.update(timeBudget)) {
+            game.assetsLoaded();
+            return;
+        }
+
+        // Never let the bar go backwards when new dependencies get queued
+        progress = Math.max(progress, game.assets.manager.getProgress());
+
+        ScreenUtils.clear(0, 0, 0, 1);
+        viewport.apply();
+        game.batch.setProjectionMatrix(viewport.getCamera().combined);
+        game.batch.begin();
+
+        float x = (GlobalVariables.WORLD_WIDTH - PROGRESS_BAR_WIDTH) / 2f;
+        float y = (GlobalVariables.WORLD_HEIGHT - PROGRESS_BAR_HEIGHT) / 2f;
+        game.batch.setColor(PROGRESS_BAR_BACKGROUND_COLOR);
+        game.batch.draw(pixel, x, y, PROGRESS_BAR_WIDTH, PROGRESS_BAR_HEIGHT);
+        game.batch.setColor(PROGRESS_BAR_COLOR);
+        game.batch.draw(pixel, x, y, PROGRESS_BAR_WIDTH * progress, PROGRESS_BAR_HEIGHT);
+        game.batch.setColor(Color.WHITE);
+
+        game.batch.end();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    @Override
+    public void pause() {
+
+    }
+
+    @Override
+    public void resume() {
+
+    }
+
+    @Override
+    public void hide() {
+
+    }
+
+    @Override
+    public void dispose() {
+        pixel.dispose();
+    }
+}
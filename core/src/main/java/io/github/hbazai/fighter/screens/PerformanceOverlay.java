@@ -0,0 +1,240 @@
+package io.github.hbazai.fighter.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Toggleable overlay with the CPU time of each phase of a frame, the GL counters of {@link GLProfiler} and the
+ * sprite batch's render calls. The last frames are kept in a rolling window, for the frame time percentiles and for
+ * dumping to a CSV file from the field.
+ * <p>
+ * The sprite batch only draws when it flushes, so the drawing phases measure the time spent submitting sprites, and
+ * the GPU work mostly lands in the flush phase.
+ */
+public class PerformanceOverlay {
+    public static final int UPDATE = 0;
+    public static final int BACKGROUND = 1;
+    public static final int FIGHTERS = 2;
+    public static final int HUD_GAUGES = 3;
+    public static final int HUD_TEXT = 4;
+    public static final int FLUSH = 5;
+    private static final String[] PHASE_NAMES = {"update", "background", "fighters", "hud_gauges", "hud_text", "flush"};
+    private static final int PHASES = PHASE_NAMES.length;
+
+    private static final int DRAW_CALLS = 0;
+    private static final int TEXTURE_BINDINGS = 1;
+    private static final int SHADER_SWITCHES = 2;
+    private static final int RENDER_CALLS = 3;
+    private static final String[] COUNTER_NAMES = {"draw_calls", "texture_bindings", "shader_switches", "render_calls"};
+    private static final int COUNTERS = COUNTER_NAMES.length;
+
+    // Frames in the rolling window, about ten seconds at 60 frames per second
+    private static final int WINDOW = 600;
+
+    // Frame time histogram in buckets of a tenth of a millisecond, longer frames land in the last bucket
+    private static final float BUCKET_MILLIS = 0.1f;
+    private static final int BUCKETS = 1000;
+
+    // Seconds between updates of the text, so reading it doesn't cost a layout every frame
+    private static final float REFRESH_INTERVAL = 0.25f;
+
+    private final GLProfiler profiler = new GLProfiler(Gdx.graphics);
+    private boolean visible;
+
+    // Rolling window of frames, per phase and per counter
+    private final float[] frameMillis = new float[WINDOW];
+    private final float[][] phaseMillis = new float[PHASES][WINDOW];
+    private final int[][] counters = new int[COUNTERS][WINDOW];
+    private final int[] histogram = new int[BUCKETS];
+    private int frames;
+
+    // Frame being measured
+    private long frameStart, lastMark;
+    private final float[] current = new float[PHASES];
+
+    private HudLabel framesLabel, phasesLabel, countersLabel;
+    private float refreshTime;
+    private int refreshKey;
+    private static final Color TEXT_COLOR = Color.WHITE;
+    private static final Color BACKGROUND_COLOR = new Color(0f, 0f, 0f, 0.6f);
+
+    public PerformanceOverlay(BitmapFont font) {
+        setFont(font);
+    }
+
+    /**
+     * Lays the text out with another font, the labels are laid out again the next time they are drawn.
+     */
+    public void setFont(BitmapFont font) {
+        framesLabel = new HudLabel(font, Align.left);
+        phasesLabel = new HudLabel(font, Align.left);
+        countersLabel = new HudLabel(font, Align.left);
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public void toggle() {
+        visible = !visible;
+        // GLProfiler wraps every GL call, so it only runs while the overlay shows
+        if (visible) {
+            profiler.enable();
+            profiler.reset();
+        } else {
+            profiler.disable();
+        }
+    }
+
+    public void beginFrame() {
+        frameStart = lastMark = TimeUtils.nanoTime();
+        for (int i = 0; i < PHASES; i++) {
+            current[i] = 0f;
+        }
+    }
+
+    /**
+     * Adds the time since the previous mark to the given phase.
+     */
+    public void mark(int phase) {
+        long now = TimeUtils.nanoTime();
+        current[phase] += (now - lastMark) / 1_000_000f;
+        lastMark = now;
+    }
+
+    public void endFrame(int renderCalls, float delta) {
+        int slot = frames % WINDOW;
+        if (frames >= WINDOW) {
+            histogram[bucket(frameMillis[slot])]--;
+        }
+        frameMillis[slot] = (TimeUtils.nanoTime() - frameStart) / 1_000_000f;
+        histogram[bucket(frameMillis[slot])]++;
+        for (int i = 0; i < PHASES; i++) {
+            phaseMillis[i][slot] = current[i];
+        }
+        // The GL counters stay at zero while the profiler is off, the timings are always kept
+        counters[DRAW_CALLS][slot] = profiler.getDrawCalls();
+        counters[TEXTURE_BINDINGS][slot] = profiler.getTextureBindings();
+        counters[SHADER_SWITCHES][slot] = profiler.getShaderSwitches();
+        counters[RENDER_CALLS][slot] = renderCalls;
+        profiler.reset();
+        frames++;
+
+        refreshTime += delta;
+        if (refreshTime >= REFRESH_INTERVAL) {
+            refreshTime = 0f;
+            refreshKey++;
+        }
+    }
+
+    private static int bucket(float millis) {
+        return Math.min((int) (millis / BUCKET_MILLIS), BUCKETS - 1);
+    }
+
+    /**
+     * Frame time under which the given fraction of the frames in the window fall, in milliseconds.
+     */
+    public float getPercentile(float fraction) {
+        int count = Math.min(frames, WINDOW);
+        if (count == 0) return 0f;
+        int target = Math.max(1, (int) Math.ceil(count * fraction));
+        int seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram[i];
+            if (seen >= target) return (i + 1) * BUCKET_MILLIS;
+        }
+        return BUCKETS * BUCKET_MILLIS;
+    }
+
+    /**
+     * Lays out the text when it is due and draws the panel behind it, with the batch's sprite shader. Must be called
+     * before {@link #renderText}, which draws the text with the shader the font needs.
+     */
+    public void renderPanel(SpriteBatch batch, TextureRegion whiteRegion, BitmapFont font, float x, float y) {
+        if (!visible || frames == 0) return;
+        int last = (frames - 1) % WINDOW;
+
+        if (framesLabel.isStale(refreshKey, TEXT_COLOR)) {
+            StringBuilder text = framesLabel.edit().append("FRAME P50 ");
+            appendMillis(text, getPercentile(0.5f)).append(" P95 ");
+            appendMillis(text, getPercentile(0.95f)).append(" P99 ");
+            appendMillis(text, getPercentile(0.99f));
+            framesLabel.layout(refreshKey, TEXT_COLOR);
+
+            text = phasesLabel.edit().append("UPD ");
+            appendMillis(text, phaseMillis[UPDATE][last]).append(" BG ");
+            appendMillis(text, phaseMillis[BACKGROUND][last]).append(" FGT ");
+            appendMillis(text, phaseMillis[FIGHTERS][last]).append(" HUD ");
+            appendMillis(text, phaseMillis[HUD_GAUGES][last] + phaseMillis[HUD_TEXT][last]).append(" END ");
+            appendMillis(text, phaseMillis[FLUSH][last]);
+            phasesLabel.layout(refreshKey, TEXT_COLOR);
+
+            countersLabel.edit()
+                .append("DRAWS ").append(counters[DRAW_CALLS][last])
+                .append(" BINDS ").append(counters[TEXTURE_BINDINGS][last])
+                .append(" SHADERS ").append(counters[SHADER_SWITCHES][last])
+                .append(" BATCH ").append(counters[RENDER_CALLS][last]);
+            countersLabel.layout(refreshKey, TEXT_COLOR);
+        }
+
+        float lineHeight = font.getLineHeight();
+        batch.setColor(BACKGROUND_COLOR);
+        float width = Math.max(framesLabel.getWidth(), Math.max(phasesLabel.getWidth(), countersLabel.getWidth()));
+        batch.draw(whiteRegion, x - 0.5f, y - lineHeight * 3f - 0.5f, width + 1f, lineHeight * 3f + 1f);
+        batch.setColor(Color.WHITE);
+    }
+
+    public void renderText(SpriteBatch batch, BitmapFont font, float x, float y) {
+        if (!visible || frames == 0) return;
+        float lineHeight = font.getLineHeight();
+        framesLabel.draw(batch, x, y);
+        phasesLabel.draw(batch, x, y - lineHeight);
+        countersLabel.draw(batch, x, y - lineHeight * 2f);
+    }
+
+    private static StringBuilder appendMillis(StringBuilder text, float millis) {
+        // Two decimals without the allocation of formatting a float
+        int hundredths = Math.round(millis * 100f);
+        return text.append(hundredths / 100).append('.').append(hundredths % 100, 2, '0');
+    }
+
+    /**
+     * Writes the frames in the window to a CSV file on local storage, oldest first, and returns it.
+     */
+    public FileHandle dump() {
+        FileHandle file = Gdx.files.local("perf/frames-" + TimeUtils.millis() + ".csv");
+        java.lang.StringBuilder csv = new java.lang.StringBuilder("frame,total_ms");
+        for (String name : PHASE_NAMES) csv.append(',').append(name).append("_ms");
+        for (String name : COUNTER_NAMES) csv.append(',').append(name);
+        csv.append('\n');
+
+        for (int frame = Math.max(0, frames - WINDOW); frame < frames; frame++) {
+            int slot = frame % WINDOW;
+            csv.append(frame).append(',').append(frameMillis[slot]);
+            for (int i = 0; i < PHASES; i++) csv.append(',').append(phaseMillis[i][slot]);
+            for (int i = 0; i < COUNTERS; i++) csv.append(',').append(counters[i][slot]);
+            csv.append('\n');
+        }
+
+        try {
+            file.writeString(csv.toString(), false);
+            Gdx.app.log("PerformanceOverlay", "Frame times written to " + file.path());
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("PerformanceOverlay", "Could not write " + file.path(), e);
+        }
+        return file;
+    }
+
+    public void dispose() {
+        profiler.disable();
+    }
+}
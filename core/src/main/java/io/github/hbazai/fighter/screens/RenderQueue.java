@@ -0,0 +1,145 @@
+package io.github.hbazai.fighter.screens;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * Draws world objects back to front. Objects are added once and get a handle; every frame each visible object submits
+ * its layer, its y coordinate and the texture it draws with. Within a layer, objects further up the ring are drawn
+ * first. Depths are cut into bands of {@link #DEPTH_BAND}, and the objects of a band are grouped by texture before they
+ * are ordered by depth, so objects standing at almost the same depth on different textures don't switch textures, and
+ * flush the batch, once per object.
+ * <p>
+ * The drawing order is kept from frame to frame and fixed with an insertion sort, which is close to linear because
+ * objects rarely pass each other between two frames. Nothing is allocated after the objects have been added.
+ */
+public class RenderQueue {
+    public interface Drawable {
+        void render(SpriteBatch batch);
+    }
+
+    // Layers, drawn from the lowest to the highest
+    public static final int LAYER_GROUND = 0;
+    public static final int LAYER_FIGHTERS = 1;
+
+    // Height of a depth band in world units, objects in the same band may be drawn in either order
+    public static final float DEPTH_BAND = 0.5f;
+
+    private Drawable[] drawables;
+    private int[] layers;
+    private float[] depths;
+    private int[] bands;
+    private int[] textures;
+    private boolean[] submitted;
+
+    // Handles of every added object in drawing order, and handles free for reuse
+    private int[] order;
+    private int size;
+    private int handles;
+    private final IntArray freeHandles = new IntArray();
+
+    public RenderQueue(int capacity) {
+        drawables = new Drawable[capacity];
+        layers = new int[capacity];
+        depths = new float[capacity];
+        bands = new int[capacity];
+        textures = new int[capacity];
+        submitted = new boolean[capacity];
+        order = new int[capacity];
+    }
+
+    public int add(Drawable drawable) {
+        int handle;
+        if (freeHandles.size > 0) {
+            handle = freeHandles.pop();
+        } else {
+            handle = handles++;
+            if (handle == drawables.length) grow();
+        }
+        drawables[handle] = drawable;
+        submitted[handle] = false;
+        order[size++] = handle;
+        return handle;
+    }
+
+    public void remove(int handle) {
+        for (int i = 0; i < size; i++) {
+            if (order[i] == handle) {
+                System.arraycopy(order, i + 1, order, i, size - i - 1);
+                size--;
+                break;
+            }
+        }
+        drawables[handle] = null;
+        freeHandles.add(handle);
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            drawables[order[i]] = null;
+        }
+        size = 0;
+        handles = 0;
+        freeHandles.clear();
+    }
+
+    /**
+     * Marks the object to be drawn in the next {@link #render(SpriteBatch)}.
+     */
+    public void submit(int handle, int layer, float y, Texture texture) {
+        submit(handle, layer, y, texture.getTextureObjectHandle());
+    }
+
+    // Takes the texture's GL handle, the tests submit made up handles
+    void submit(int handle, int layer, float y, int texture) {
+        layers[handle] = layer;
+        depths[handle] = y;
+        bands[handle] = (int) Math.floor(y / DEPTH_BAND);
+        textures[handle] = texture;
+        submitted[handle] = true;
+    }
+
+    /**
+     * Sorts and draws the objects submitted since the last call.
+     */
+    public void render(SpriteBatch batch) {
+        for (int i = 1; i < size; i++) {
+            int handle = order[i];
+            int j = i - 1;
+            while (j >= 0 && isBefore(handle, order[j])) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = handle;
+        }
+
+        for (int i = 0; i < size; i++) {
+            int handle = order[i];
+            if (submitted[handle]) {
+                drawables[handle].render(batch);
+                submitted[handle] = false;
+            }
+        }
+    }
+
+    private boolean isBefore(int a, int b) {
+        if (layers[a] != layers[b]) return layers[a] < layers[b];
+        if (bands[a] != bands[b]) return bands[a] > bands[b];
+        if (textures[a] != textures[b]) return textures[a] < textures[b];
+        return depths[a] > depths[b];
+    }
+
+    private void grow() {
+        int capacity = Math.max(8, drawables.length * 2);
+        drawables = Arrays.copyOf(drawables, capacity);
+        layers = Arrays.copyOf(layers, capacity);
+        depths = Arrays.copyOf(depths, capacity);
+        bands = Arrays.copyOf(bands, capacity);
+        textures = Arrays.copyOf(textures, capacity);
+        submitted = Arrays.copyOf(submitted, capacity);
+        order = Arrays.copyOf(order, capacity);
+    }
+}
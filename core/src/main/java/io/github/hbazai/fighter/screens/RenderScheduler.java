@@ -0,0 +1,98 @@
+package io.github.hbazai.fighter.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Timer;
+
+/**
+ * Renders only as often as the screen changes. While the fight is on the game renders continuously; while only idle
+ * animations and static text are on screen it stops continuous rendering and asks for a frame {@link #IDLE_FPS} times a
+ * second; while the application is paused it renders nothing at all. Input still wakes the renderer up at once.
+ * <p>
+ * While the window is unfocused, the game is still visible but nobody plays it, so nothing renders more than
+ * {@link #UNFOCUSED_FPS} times a second.
+ * <p>
+ * Frames and time are counted per mode and logged, to check how much of a session runs at the full rate.
+ */
+public class RenderScheduler {
+    public enum Mode {
+        ACTIVE,
+        IDLE,
+        PAUSED
+    }
+
+    public static final int IDLE_FPS = 30;
+    public static final int UNFOCUSED_FPS = 10;
+
+    private static final Mode[] MODES = Mode.values();
+
+    private Mode mode = Mode.ACTIVE;
+    private boolean unfocused;
+    private final Timer.Task requestFrame = new Timer.Task() {
+        @Override
+        public void run() {
+            Gdx.graphics.requestRendering();
+        }
+    };
+
+    // Frames rendered and seconds spent in each mode
+    private final long[] frames = new long[MODES.length];
+    private final float[] seconds = new float[MODES.length];
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        if (mode == this.mode) return;
+        this.mode = mode;
+        schedule();
+    }
+
+    public boolean isUnfocused() {
+        return unfocused;
+    }
+
+    public void setUnfocused(boolean unfocused) {
+        if (unfocused == this.unfocused) return;
+        this.unfocused = unfocused;
+        schedule();
+    }
+
+    private void schedule() {
+        requestFrame.cancel();
+        boolean continuous = mode == Mode.ACTIVE && !unfocused;
+        Gdx.graphics.setContinuousRendering(continuous);
+        if (!continuous && mode != Mode.PAUSED) {
+            float interval = 1f / (unfocused ? UNFOCUSED_FPS : IDLE_FPS);
+            Timer.schedule(requestFrame, interval, interval);
+        }
+    }
+
+    /**
+     * Counts a rendered frame. Called once per frame.
+     */
+    public void frame(float delta) {
+        frames[mode.ordinal()]++;
+        seconds[mode.ordinal()] += delta;
+    }
+
+    public long getFrames(Mode mode) {
+        return frames[mode.ordinal()];
+    }
+
+    public float getSeconds(Mode mode) {
+        return seconds[mode.ordinal()];
+    }
+
+    public void log() {
+        StringBuilder text = new StringBuilder("Rendered");
+        for (Mode mode : MODES) {
+            if (mode == Mode.PAUSED) continue;
+            int ordinal = mode.ordinal();
+            text.append(' ').append(frames[ordinal]).append(" frames in ").append(Math.round(seconds[ordinal])).append(" s ")
+                .append(mode).append(" (").append(seconds[ordinal] > 0f ? Math.round(frames[ordinal] / seconds[ordinal]) : 0)
+                .append(" fps)");
+        }
+        Gdx.app.log("RenderScheduler", text.toString());
+    }
+}
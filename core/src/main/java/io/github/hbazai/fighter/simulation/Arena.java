@@ -0,0 +1,410 @@
+package io.github.hbazai.fighter.simulation;
+
+import com.badlogic.gdx.math.Vector2;
+
+import io.github.hbazai.fighter.objects.AnimationSet;
+import io.github.hbazai.fighter.objects.Fighter;
+import io.github.hbazai.fighter.objects.FrameData;
+
+/**
+ * Free for all fight between many fighters in the ring, with the same moves and damage as a {@link Match}. Fighters on
+ * the same non-zero team don't hit each other, so teams turn it into a tag fight.
+ * <p>
+ * The fighters' state is kept in parallel primitive arrays indexed by fighter, and contacts are found through a
+ * {@link SpatialGrid} with cells the size of the {@link FrameData} reach, so a tick stays cheap with dozens of fighters.
+ * Fighters the player doesn't control are driven by a simple bot.
+ */
+public class Arena {
+    private static final Fighter.State[] STATES = Fighter.State.values();
+    private static final int BLOCK = Fighter.State.BLOCK.ordinal();
+    private static final int HURT = Fighter.State.HURT.ordinal();
+    private static final int IDLE = Fighter.State.IDLE.ordinal();
+    private static final int KICK = Fighter.State.KICK.ordinal();
+    private static final int LOSE = Fighter.State.LOSE.ordinal();
+    private static final int PUNCH = Fighter.State.PUNCH.ordinal();
+    private static final int WALK = Fighter.State.WALK.ordinal();
+    private static final int WIN = Fighter.State.WIN.ordinal();
+
+    // Bots pick a new target this often, spread over the ticks so only a few of them search at a time
+    private static final int BOT_TARGET_TICKS = 30;
+    private static final int BOT_ATTACK_TICKS = 20;
+
+    private final int capacity;
+    private int size;
+
+    // Fighter state, indexed by fighter
+    private final float[] x, y, previousX, previousY;
+    private final float[] movementX, movementY;
+    private final float[] life;
+    private final float[] stateTime;
+    private final byte[] state;
+    private final byte[] facing;
+    private final boolean[] madeContact;
+    private final int[] team;
+    private final int[] controls, previousControls;
+    private final boolean[] bot;
+    private final int[] target;
+
+    // Length of each state's animation, the end of attacks and hurt are timed on them
+    private final float[] durations = new float[STATES.length];
+    private final FrameData frameData;
+
+    private final SpatialGrid grid;
+    private final Vector2 bounded = new Vector2();
+
+    private float roundTimer;
+    private int winner;
+    private boolean over;
+    private int tick;
+
+    public Arena(AnimationSet animations, FrameData frameData, int capacity) {
+        this.frameData = frameData;
+        this.capacity = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        previousX = new float[capacity];
+        previousY = new float[capacity];
+        movementX = new float[capacity];
+        movementY = new float[capacity];
+        life = new float[capacity];
+        stateTime = new float[capacity];
+        state = new byte[capacity];
+        facing = new byte[capacity];
+        madeContact = new boolean[capacity];
+        team = new int[capacity];
+        controls = new int[capacity];
+        previousControls = new int[capacity];
+        bot = new boolean[capacity];
+        target = new int[capacity];
+
+        for (Fighter.State s : STATES) {
+            durations[s.ordinal()] = animations.get(s).getAnimationDuration();
+        }
+
+        grid = new SpatialGrid(
+            Match.RING_MIN_X, Match.RING_MIN_Y, Match.RING_MAX_X, Match.RING_MAX_Y,
+            frameData.getReach(), frameData.getDepth(), capacity
+        );
+    }
+
+    /**
+     * Places the given number of fighters around the ring and starts the fight. Fighters from 0 to teams - 1 each lead
+     * a team when teams is not zero, otherwise it is every fighter for themselves.
+     */
+    public void start(int fighters, int teams) {
+        size = Math.min(fighters, capacity);
+        for (int i = 0; i < size; i++) {
+            // Spread the fighters on an ellipse inside the ring
+            float angle = (float) (Math.PI * 2 * i / size);
+            bounded.set(
+                (Match.RING_MIN_X + Match.RING_MAX_X) / 2f + (float) Math.cos(angle) * (Match.RING_MAX_X - Match.RING_MIN_X) * 0.35f,
+                (Match.RING_MIN_Y + Match.RING_MAX_Y) / 2f + (float) Math.sin(angle) * (Match.RING_MAX_Y - Match.RING_MIN_Y) * 0.4f
+            );
+            Match.keepWithinRingBounds(bounded);
+            x[i] = previousX[i] = bounded.x;
+            y[i] = previousY[i] = bounded.y;
+            movementX[i] = movementY[i] = 0f;
+            life[i] = Fighter.MAX_LIFE;
+            stateTime[i] = 0f;
+            state[i] = (byte) IDLE;
+            facing[i] = (byte) (x[i] < (Match.RING_MIN_X + Match.RING_MAX_X) / 2f ? 1 : -1);
+            madeContact[i] = false;
+            team[i] = teams > 0 ? i % teams + 1 : 0;
+            controls[i] = previousControls[i] = Controls.NONE;
+            bot[i] = true;
+            target[i] = -1;
+        }
+        roundTimer = Match.MAX_ROUND_TIME;
+        winner = -1;
+        over = false;
+        tick = 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setBot(int fighter, boolean bot) {
+        this.bot[fighter] = bot;
+    }
+
+    public void setControls(int fighter, int controls) {
+        this.controls[fighter] = controls;
+    }
+
+    public float getX(int fighter) {
+        return x[fighter];
+    }
+
+    public float getY(int fighter) {
+        return y[fighter];
+    }
+
+    public float getRenderX(int fighter, float alpha) {
+        return previousX[fighter] + (x[fighter] - previousX[fighter]) * alpha;
+    }
+
+    public float getRenderY(int fighter, float alpha) {
+        return previousY[fighter] + (y[fighter] - previousY[fighter]) * alpha;
+    }
+
+    public float getLife(int fighter) {
+        return life[fighter];
+    }
+
+    public Fighter.State getState(int fighter) {
+        return STATES[state[fighter]];
+    }
+
+    public float getStateTime(int fighter) {
+        return stateTime[fighter];
+    }
+
+    public int getFacing(int fighter) {
+        return facing[fighter];
+    }
+
+    public float getRoundTimer() {
+        return roundTimer;
+    }
+
+    public boolean isOver() {
+        return over;
+    }
+
+    /**
+     * Fighter left standing, or -1 while the fight is on or if nobody won.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    public void update(float deltaTime) {
+        tick++;
+        for (int i = 0; i < size; i++) {
+            previousX[i] = x[i];
+            previousY[i] = y[i];
+        }
+
+        if (!over) {
+            for (int i = 0; i < size; i++) {
+                if (bot[i]) controls[i] = think(i);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            applyControls(i, previousControls[i], over ? Controls.NONE : controls[i]);
+            previousControls[i] = over ? Controls.NONE : controls[i];
+            updateFighter(i, deltaTime);
+        }
+
+        if (over) return;
+        buildGrid();
+        for (int i = 0; i < size; i++) {
+            if (isAttackActive(i)) attack(i);
+        }
+
+        roundTimer -= deltaTime;
+        checkOver();
+    }
+
+    private void buildGrid() {
+        grid.clear();
+        for (int i = 0; i < size; i++) {
+            if (life[i] > 0f) grid.add(i, x[i], y[i]);
+        }
+        grid.build();
+    }
+
+    private void applyControls(int i, int previous, int current) {
+        int pressed = current & ~previous;
+        int released = previous & ~current;
+
+        // Same rules as Controls.apply on a Fighter
+        if ((released & Controls.LEFT) != 0 && movementX[i] == -1) setMovement(i, 0, movementY[i]);
+        if ((released & Controls.RIGHT) != 0 && movementX[i] == 1) setMovement(i, 0, movementY[i]);
+        if ((released & Controls.UP) != 0 && movementY[i] == 1) setMovement(i, movementX[i], 0);
+        if ((released & Controls.DOWN) != 0 && movementY[i] == -1) setMovement(i, movementX[i], 0);
+        if ((released & Controls.BLOCK) != 0 && state[i] == BLOCK) {
+            changeState(i, movementX[i] != 0 || movementY[i] != 0 ? WALK : IDLE);
+        }
+
+        if ((pressed & Controls.LEFT) != 0) {
+            setMovement(i, -1, movementY[i]);
+        } else if ((pressed & Controls.RIGHT) != 0) {
+            setMovement(i, 1, movementY[i]);
+        }
+        if ((pressed & Controls.UP) != 0) {
+            setMovement(i, movementX[i], 1);
+        } else if ((pressed & Controls.DOWN) != 0) {
+            setMovement(i, movementX[i], -1);
+        }
+
+        boolean free = state[i] == IDLE || state[i] == WALK;
+        if ((pressed & Controls.BLOCK) != 0) {
+            if (free) changeState(i, BLOCK);
+        } else if ((pressed & Controls.PUNCH) != 0) {
+            if (free) startAttack(i, PUNCH);
+        } else if ((pressed & Controls.KICK) != 0) {
+            if (free) startAttack(i, KICK);
+        }
+    }
+
+    private void setMovement(int i, float mx, float my) {
+        movementX[i] = mx;
+        movementY[i] = my;
+        if (state[i] == WALK && mx == 0 && my == 0) {
+            changeState(i, IDLE);
+        } else if (state[i] == IDLE && (mx != 0 || my != 0)) {
+            changeState(i, WALK);
+        }
+    }
+
+    private void changeState(int i, int newState) {
+        state[i] = (byte) newState;
+        stateTime[i] = 0f;
+    }
+
+    private void startAttack(int i, int attack) {
+        changeState(i, attack);
+        madeContact[i] = false;
+    }
+
+    private void updateFighter(int i, float deltaTime) {
+        stateTime[i] += deltaTime;
+        int s = state[i];
+        if (s == WALK) {
+            x[i] += movementX[i] * Fighter.MOVEMENT_SPEED * deltaTime;
+            y[i] += movementY[i] * Fighter.MOVEMENT_SPEED * deltaTime;
+            // Without an opponent to face, fighters face where they walk
+            if (movementX[i] != 0) facing[i] = (byte) (movementX[i] > 0 ? 1 : -1);
+            bounded.set(x[i], y[i]);
+            Match.keepWithinRingBounds(bounded);
+            x[i] = bounded.x;
+            y[i] = bounded.y;
+        } else if ((s == PUNCH || s == KICK || s == HURT) && stateTime[i] >= durations[s]) {
+            changeState(i, movementX[i] != 0 || movementY[i] != 0 ? WALK : IDLE);
+        }
+    }
+
+    private boolean isAttackActive(int i) {
+        int s = state[i];
+        return !madeContact[i] && frameData.hasHitbox(STATES[s], AnimationSet.getFrameIndex(STATES[s], stateTime[i]));
+    }
+
+    private boolean areEnemies(int i, int j) {
+        return i != j && life[j] > 0f && (team[i] == 0 || team[i] != team[j]);
+    }
+
+    private void attack(int i) {
+        Fighter.State attack = STATES[state[i]];
+        int frame = AnimationSet.getFrameIndex(attack, stateTime[i]);
+
+        // Only the cells around the attacker can hold fighters within reach
+        int column = grid.getColumn(x[i]), row = grid.getRow(y[i]);
+        int maxColumn = Math.min(column + 1, grid.getColumns() - 1), maxRow = Math.min(row + 1, grid.getRows() - 1);
+        for (int r = Math.max(row - 1, 0); r <= maxRow; r++) {
+            for (int c = Math.max(column - 1, 0); c <= maxColumn; c++) {
+                int cell = grid.getCell(c, r);
+                for (int k = grid.getCellStart(cell); k < grid.getCellEnd(cell); k++) {
+                    int j = grid.getItem(k);
+                    if (!areEnemies(i, j)) continue;
+                    // Hit the first enemy whose hurtbox the attack's hitbox overlaps
+                    Fighter.State targetState = STATES[state[j]];
+                    if (frameData.hits(
+                        attack, frame, x[i], y[i], facing[i],
+                        targetState, AnimationSet.getFrameIndex(targetState, stateTime[j]), x[j], y[j], facing[j]
+                    )) {
+                        getHit(j, Fighter.HIT_STRENGTH);
+                        madeContact[i] = true;
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void getHit(int i, float damage) {
+        int s = state[i];
+        if (s == HURT || s == WIN || s == LOSE) return;
+        life[i] -= s == BLOCK ? damage * Fighter.BLOCK_DAMAGE_FACTOR : damage;
+        if (life[i] <= 0f) {
+            life[i] = 0f;
+            changeState(i, LOSE);
+        } else if (s != BLOCK) {
+            changeState(i, HURT);
+        }
+    }
+
+    private void checkOver() {
+        // The fight is over when only one team is left standing, or when time runs out
+        int standing = -1;
+        boolean oneLeft = true;
+        for (int i = 0; i < size; i++) {
+            if (life[i] <= 0f) continue;
+            if (standing < 0) {
+                standing = i;
+            } else if (team[i] == 0 || team[i] != team[standing]) {
+                oneLeft = false;
+                break;
+            }
+        }
+        if (!oneLeft && roundTimer > 0f) return;
+
+        if (!oneLeft) {
+            // Out of time, the healthiest fighter wins
+            for (int i = 0; i < size; i++) {
+                if (standing < 0 || life[i] > life[standing]) standing = i;
+            }
+        }
+        over = true;
+        winner = standing;
+        for (int i = 0; i < size; i++) {
+            boolean won = standing >= 0 && (i == standing || team[i] != 0 && team[i] == team[standing]);
+            changeState(i, won ? WIN : LOSE);
+        }
+    }
+
+    private int think(int i) {
+        if (life[i] <= 0f) return Controls.NONE;
+
+        // Look for the nearest enemy now and then, in turns
+        if ((tick + i) % BOT_TARGET_TICKS == 0 || target[i] < 0 || life[target[i]] <= 0f) {
+            target[i] = findNearestEnemy(i);
+        }
+        int t = target[i];
+        if (t < 0) return Controls.NONE;
+
+        float dx = x[t] - x[i];
+        float dy = y[t] - y[i];
+        int result = Controls.NONE;
+        boolean inReachX = Math.abs(dx) <= Match.FIGHTER_CONTACT_DISTANCE_X * 0.8f;
+        boolean inReachY = Math.abs(dy) <= Match.FIGHTER_CONTACT_DISTANCE_Y * 0.5f;
+        if (!inReachX) result |= dx < 0 ? Controls.LEFT : Controls.RIGHT;
+        if (!inReachY) result |= dy < 0 ? Controls.DOWN : Controls.UP;
+
+        if (inReachX && inReachY) {
+            // Turn to face the target with a step, then attack in turns
+            if (dx * facing[i] < 0f) {
+                result |= dx < 0 ? Controls.LEFT : Controls.RIGHT;
+            } else if ((tick + i * 7) % BOT_ATTACK_TICKS == 0) {
+                result |= (tick / BOT_ATTACK_TICKS + i) % 2 == 0 ? Controls.PUNCH : Controls.KICK;
+            }
+        }
+        return result;
+    }
+
+    private int findNearestEnemy(int i) {
+        int nearest = -1;
+        float nearestDistance = Float.MAX_VALUE;
+        for (int j = 0; j < size; j++) {
+            if (!areEnemies(i, j)) continue;
+            float dx = x[j] - x[i], dy = (y[j] - y[i]) * 4f;
+            float distance = dx * dx + dy * dy;
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = j;
+            }
+        }
+        return nearest;
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.hbazai.fighter.simulation;
+
+import io.github.hbazai.fighter.objects.Fighter;
+
+/**
+ * Bit flags describing which fighter controls are held down during a simulation tick.
+ */
+public final class Controls {
+    public static final int NONE = 0;
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int UP = 1 << 2;
+    public static final int DOWN = 1 << 3;
+    public static final int BLOCK = 1 << 4;
+    public static final int PUNCH = 1 << 5;
+    public static final int KICK = 1 << 6;
+    public static final int ALL = LEFT | RIGHT | UP | DOWN | BLOCK | PUNCH | KICK;
+
+    // Inputs sent over the network or saved in replays carry the match commands above the control bits
+    public static final int COMMAND_SHIFT = 8;
+
+    private Controls() {
+    }
+
+    public static void apply(Fighter fighter, int previous, int current, boolean allowMovement) {
+        int pressed = current & ~previous;
+        int released = previous & ~current;
+
+        // Handle the released controls first, so a direction change within a single tick ends up in the new direction
+        if ((released & LEFT) != 0) {
+            fighter.stopMovingLeft();
+        }
+        if ((released & RIGHT) != 0) {
+            fighter.stopMovingRight();
+        }
+        if ((released & UP) != 0) {
+            fighter.stopMovingUp();
+        }
+        if ((released & DOWN) != 0) {
+            fighter.stopMovingDown();
+        }
+        if ((released & BLOCK) != 0) {
+            fighter.stopBlocking();
+        }
+
+        // The fighters can only start moving while the round is in progress
+        if (allowMovement) {
+            if ((pressed & LEFT) != 0) {
+                fighter.moveLeft();
+            } else if ((pressed & RIGHT) != 0) {
+                fighter.moveRight();
+            }
+
+            if ((pressed & UP) != 0) {
+                fighter.moveUp();
+            } else if ((pressed & DOWN) != 0) {
+                fighter.moveDown();
+            }
+        }
+
+        // check if block or attack has been pressed
+        if ((pressed & BLOCK) != 0) {
+            fighter.block();
+        } else if ((pressed & PUNCH) != 0) {
+            fighter.punch();
+        } else if ((pressed & KICK) != 0) {
+            fighter.kick();
+        }
+    }
+}
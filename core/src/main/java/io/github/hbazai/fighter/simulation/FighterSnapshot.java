@@ -0,0 +1,47 @@
+package io.github.hbazai.fighter.simulation;
+
+import io.github.hbazai.fighter.objects.Fighter;
+
+/**
+ * The part of a fighter's state that the render thread needs to draw it, plus the little extra the simulation needs to
+ * restore the fighter when rolling back.
+ */
+public class FighterSnapshot {
+    public Fighter.State state = Fighter.State.IDLE;
+    public float stateTime;
+    public float x, y;
+    public int facing = 1;
+    public float life;
+    public int generation;
+    public float movementX, movementY;
+    public boolean madeContact;
+
+    public void copyFrom(FighterSnapshot other) {
+        state = other.state;
+        stateTime = other.stateTime;
+        x = other.x;
+        y = other.y;
+        facing = other.facing;
+        life = other.life;
+        generation = other.generation;
+        movementX = other.movementX;
+        movementY = other.movementY;
+        madeContact = other.madeContact;
+    }
+
+    /**
+     * Hash of the fighter's state, leaving out the generation, which keeps counting rounds from game to game.
+     */
+    public int checksum() {
+        int hash = state.ordinal();
+        hash = 31 * hash + Float.floatToIntBits(stateTime);
+        hash = 31 * hash + Float.floatToIntBits(x);
+        hash = 31 * hash + Float.floatToIntBits(y);
+        hash = 31 * hash + facing;
+        hash = 31 * hash + Float.floatToIntBits(life);
+        hash = 31 * hash + Float.floatToIntBits(movementX);
+        hash = 31 * hash + Float.floatToIntBits(movementY);
+        hash = 31 * hash + (madeContact ? 1 : 0);
+        return hash;
+    }
+}
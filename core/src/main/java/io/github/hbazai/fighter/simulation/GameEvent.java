@@ -0,0 +1,42 @@
+package io.github.hbazai.fighter.simulation;
+
+/**
+ * Something that happened in a {@link Match} tick. Events are pooled by {@link GameEvents} and overwritten once
+ * drained, so listeners must copy whatever they want to keep.
+ */
+public class GameEvent {
+    // Types
+    public static final int HIT = 0;
+    public static final int BLOCK = 1;
+    public static final int KO = 2;
+    public static final int ROUND_START = 3;
+    public static final int FIGHT = 4;
+    public static final int ROUND_END = 5;
+    public static final int GAME_OVER = 6;
+
+    // Fighters
+    public static final int NONE = -1;
+    public static final int PLAYER = 0;
+    public static final int OPPONENT = 1;
+
+    public int type;
+    // Fighter the event happened to: the one hit for hits, blocks and KOs, the winner for round ends and game over
+    public int fighter;
+    // Position of that fighter
+    public float x, y;
+    // Side a hit comes from and pushes towards, 1 for right and -1 for left
+    public int direction;
+    public float damage;
+    // Round the event belongs to
+    public int round;
+
+    void set(int type, int fighter, float x, float y, int direction, float damage, int round) {
+        this.type = type;
+        this.fighter = fighter;
+        this.x = x;
+        this.y = y;
+        this.direction = direction;
+        this.damage = damage;
+        this.round = round;
+    }
+}
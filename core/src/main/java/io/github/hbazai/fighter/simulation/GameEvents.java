@@ -0,0 +1,85 @@
+package io.github.hbazai.fighter.simulation;
+
+import com.badlogic.gdx.utils.Array;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free ring buffer of {@link GameEvent}s from the simulation (single writer) to the render thread (single reader).
+ * The events are allocated once and reused, and the reader hands every event it drains to the registered listeners.
+ * When the reader falls a whole buffer behind, new events are dropped instead of overwriting unread ones.
+ */
+public class GameEvents {
+    public static final int CAPACITY = 256;
+    private static final int MASK = CAPACITY - 1;
+
+    public interface Listener {
+        void onEvent(GameEvent event);
+    }
+
+    private final GameEvent[] events = new GameEvent[CAPACITY];
+
+    // Sequence of the next event to write and of the next event to read
+    private final AtomicInteger tail = new AtomicInteger();
+    private final AtomicInteger head = new AtomicInteger();
+
+    // Owned by the writer
+    private int dropped;
+
+    // Owned by the reader
+    private final Array<Listener> listeners = new Array<>(false, 4);
+
+    public GameEvents() {
+        for (int i = 0; i < CAPACITY; i++) {
+            events[i] = new GameEvent();
+        }
+    }
+
+    public void publish(int type, int fighter, float x, float y, int direction, float damage, int round) {
+        int sequence = tail.get();
+        if (sequence - head.get() >= CAPACITY) {
+            dropped++;
+            return;
+        }
+        events[sequence & MASK].set(type, fighter, x, y, direction, damage, round);
+        tail.set(sequence + 1);
+    }
+
+    /**
+     * Events dropped because the buffer was full. Only meaningful to the writer.
+     */
+    public int getDropped() {
+        return dropped;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.removeValue(listener, true);
+    }
+
+    /**
+     * Hands every event published since the last drain to the listeners, in order. Called by the render thread once per
+     * frame.
+     */
+    public void drain() {
+        int sequence = head.get();
+        int end = tail.get();
+        for (; sequence != end; sequence++) {
+            GameEvent event = events[sequence & MASK];
+            for (int i = 0; i < listeners.size; i++) {
+                listeners.get(i).onEvent(event);
+            }
+        }
+        head.set(sequence);
+    }
+
+    /**
+     * Forgets undrained events. Only safe while the simulation is stopped.
+     */
+    public void clear() {
+        head.set(tail.get());
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.hbazai.fighter.simulation;
+
+/**
+ * Steps the simulation on the render thread with a fixed time step accumulator.
+ */
+public class InlineSimulationRunner extends SimulationRunner {
+    private float accumulator;
+    private boolean paused;
+
+    public InlineSimulationRunner(Match match) {
+        super(match);
+    }
+
+    @Override
+    public void start() {
+        accumulator = 0f;
+        paused = false;
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public void pause() {
+        paused = true;
+    }
+
+    @Override
+    public void resume() {
+        accumulator = 0f;
+        paused = false;
+    }
+
+    @Override
+    public void frame(float delta) {
+        if (paused) {
+            super.frame(delta);
+            return;
+        }
+        accumulator += delta;
+        int ticks = 0;
+        while (accumulator >= STEP && ticks < MAX_CATCH_UP_TICKS) {
+            tick();
+            accumulator -= STEP;
+            ticks++;
+        }
+        if (ticks == MAX_CATCH_UP_TICKS) {
+            // Too far behind, drop the rest instead of spiralling
+            accumulator = 0f;
+        }
+        super.frame(delta);
+    }
+
+    @Override
+    protected float computeAlpha(MatchSnapshot snapshot) {
+        return accumulator / STEP;
+    }
+}
@@ -0,0 +1,328 @@
+package io.github.hbazai.fighter.simulation;
+
+import com.badlogic.gdx.math.Vector2;
+
+import io.github.hbazai.fighter.objects.Fighter;
+import io.github.hbazai.fighter.resources.GlobalVariables;
+
+/**
+ * Game and round logic of a fight between the player and the opponent. A match is only ever touched by the thread that
+ * runs the simulation; the render thread reads it through {@link MatchSnapshot}s.
+ */
+public class Match {
+    // game
+    public enum GameState {
+        RUNNING,
+        PAUSE,
+        GAME_OVER
+    }
+
+    // rounds
+    public enum RoundState {
+        STARTING,
+        IN_PROGRESS,
+        ENDING
+    }
+
+    // Commands that are not bound to a fighter
+    public static final int COMMAND_SKIP_DELAY = 1;
+    public static final int COMMAND_RESTART = 1 << 1;
+
+    public static final float START_ROUND_DELAY = 2f;
+    public static final float END_ROUND_DELAY = 2f;
+    public static final int MAX_ROUNDS = 3;
+    public static final float MAX_ROUND_TIME = 99.99f;
+
+    // Bound of Ring
+    public static final float RING_MIN_X = 7f;
+    public static final float RING_MAX_X = 60f;
+    public static final float RING_MIN_Y = 4f;
+    public static final float RING_MAX_Y = 22f;
+    public static final float RING_SLOPE = 3.16f;
+
+    // Fighters
+    public static final float PLAYER_START_POSITION_X = 16f;
+    public static final float OPPONET_START_POSITION_X = 51f;
+    public static final float FIGHTER_START_POSITION_Y = 15f;
+    // Rough distance within which fighters can reach each other, hits themselves are decided by the FrameData boxes
+    public static final float FIGHTER_CONTACT_DISTANCE_X = 7.5f;
+    public static final float FIGHTER_CONTACT_DISTANCE_Y = 1.5f;
+
+    private final Fighter player;
+    private final Fighter opponent;
+
+    private GameState gameState;
+    private GlobalVariables.Difficulty difficulty = GlobalVariables.Difficulty.EASY;
+
+    private RoundState roundState;
+    private float roundStateTime;
+    private int currentRound;
+    private int roundWin = 0, roundLost = 0;
+    private float roundTimer = MAX_ROUND_TIME;
+
+    // Controls held during the previous tick
+    private int playerControls, opponentControls;
+
+    // Where hits, KOs and round transitions are published, if anything listens
+    private GameEvents events;
+    private boolean eventsMuted;
+
+    public Match(Fighter player, Fighter opponent) {
+        this.player = player;
+        this.opponent = opponent;
+    }
+
+    public Fighter getPlayer() {
+        return player;
+    }
+
+    public Fighter getOpponent() {
+        return opponent;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    public RoundState getRoundState() {
+        return roundState;
+    }
+
+    public GlobalVariables.Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(GlobalVariables.Difficulty difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public void setEvents(GameEvents events) {
+        this.events = events;
+    }
+
+    /**
+     * Stops publishing events, while ticks that already published theirs are simulated again.
+     */
+    public void setEventsMuted(boolean eventsMuted) {
+        this.eventsMuted = eventsMuted;
+    }
+
+    private void publish(int type, int fighter, float damage) {
+        if (events == null || eventsMuted) return;
+        Vector2 position = fighter == GameEvent.PLAYER ? player.getPosition() : fighter == GameEvent.OPPONENT ? opponent.getPosition() : Vector2.Zero;
+        // Hits push the fighter away from the other one
+        Vector2 other = fighter == GameEvent.PLAYER ? opponent.getPosition() : player.getPosition();
+        int direction = position.x >= other.x ? 1 : -1;
+        events.publish(type, fighter, position.x, position.y, direction, damage, currentRound);
+    }
+
+    public void startGame() {
+        gameState = GameState.RUNNING;
+        roundWin = roundLost = 0;
+
+        // Start round 1
+        currentRound = 1;
+        startRound();
+    }
+
+    private void startRound() {
+        // get the fighters ready
+        player.getReady(PLAYER_START_POSITION_X, FIGHTER_START_POSITION_Y);
+        opponent.getReady(OPPONET_START_POSITION_X, FIGHTER_START_POSITION_Y);
+        playerControls = opponentControls = Controls.NONE;
+
+        // Start the round
+        roundState = RoundState.STARTING;
+        roundStateTime = 0f;
+        roundTimer = MAX_ROUND_TIME;
+        publish(GameEvent.ROUND_START, GameEvent.NONE, 0f);
+    }
+
+    private void endRound() {
+        // End the round
+        roundState = RoundState.ENDING;
+        roundStateTime = 0f;
+    }
+
+    private void winRound() {
+        // player wins the round and opponet loses
+        player.win();
+        opponent.lose();
+        roundWin++;
+
+        // end the round
+        endRound();
+        publish(GameEvent.ROUND_END, GameEvent.PLAYER, 0f);
+    }
+
+    private void loseRound() {
+        // player loses the round and opponet wins
+        player.lose();
+        opponent.win();
+        roundLost++;
+
+        // end the round
+        endRound();
+        publish(GameEvent.ROUND_END, GameEvent.OPPONENT, 0f);
+    }
+
+    public void applyCommands(int commands) {
+        if (gameState == GameState.RUNNING) {
+            if ((commands & COMMAND_SKIP_DELAY) != 0) {
+                // skip any round delay
+                if (roundState == RoundState.STARTING) {
+                    roundStateTime = START_ROUND_DELAY;
+                } else if (roundState == RoundState.ENDING) {
+                    roundStateTime = END_ROUND_DELAY;
+                }
+            }
+        } else if (gameState == GameState.GAME_OVER && (commands & COMMAND_RESTART) != 0) {
+            // if the game is over, restart the game
+            startGame();
+        }
+    }
+
+    public void update(float deltaTime, int playerControls, int opponentControls) {
+        // Apply the controls that changed since the last tick
+        boolean allowMovement = roundState == RoundState.IN_PROGRESS;
+        Controls.apply(player, this.playerControls, playerControls, allowMovement);
+        Controls.apply(opponent, this.opponentControls, opponentControls, allowMovement);
+        this.playerControls = playerControls;
+        this.opponentControls = opponentControls;
+
+        if (roundState == RoundState.STARTING && roundStateTime >= START_ROUND_DELAY) {
+            // if the start round delay has been reached, start the fight
+            roundState = RoundState.IN_PROGRESS;
+            roundStateTime = 0f;
+            publish(GameEvent.FIGHT, GameEvent.NONE, 0f);
+        } else if (roundState == RoundState.ENDING && roundStateTime >= END_ROUND_DELAY) {
+            // if the end round delay has been reached and player has won or lost more than half of the max number of rounds,
+            // end the game; otherwise, start the next round
+            if (roundWin > MAX_ROUNDS / 2 || roundLost > MAX_ROUNDS / 2) {
+                gameState = GameState.GAME_OVER;
+                publish(GameEvent.GAME_OVER, roundWin > roundLost ? GameEvent.PLAYER : GameEvent.OPPONENT, 0f);
+            } else {
+                currentRound++;
+                startRound();
+            }
+        } else {
+            // increament the round state time by delta time
+            roundStateTime += deltaTime;
+        }
+
+        player.update(deltaTime);
+        opponent.update(deltaTime);
+
+        // make sure fighters are facing each other
+        if (player.getPosition().x <= opponent.getPosition().x) {
+            player.faceRight();
+            opponent.faceLeft();
+        } else {
+            player.faceLeft();
+            opponent.faceRight();
+        }
+
+        // Keep the fighters within the bounds of the ring
+        keepWithinRingBounds(player.getPosition());
+        keepWithinRingBounds(opponent.getPosition());
+
+        if (roundState == RoundState.IN_PROGRESS) {
+            // if the round is in progress, decrease the round timer by deltaTime
+            roundTimer -= deltaTime;
+
+            if (roundTimer <= 0f) {
+                // if the round timer has finished and player has the same or more life than opponent, player wins the round;
+                // otherwise, player loses the round
+                if (player.getLife() >= opponent.getLife()) {
+                    winRound();
+                } else {
+                    loseRound();
+                }
+            }
+
+            // Check if an active attack's hitbox overlaps the other fighter's hurtbox
+            if (player.isAttackActive() && player.canHit(opponent)) {
+                // if player is actively attacking and reaches the opponent, opponent gets hit
+                hit(opponent, GameEvent.OPPONENT);
+                // Deactivate player contact to avoid multiple decreasing
+                player.madeContact();
+
+                // Check if opponent has lost
+                if (opponent.hasLost()) {
+                    // If opponent has lost, player win the round
+                    winRound();
+                }
+            }
+
+            if (opponent.isAttackActive() && roundState == RoundState.IN_PROGRESS && opponent.canHit(player)) {
+                // same for the opponent attacking the player
+                hit(player, GameEvent.PLAYER);
+                opponent.madeContact();
+
+                if (player.hasLost()) {
+                    // If player has lost, opponent wins the round
+                    loseRound();
+                }
+            }
+        }
+    }
+
+    private void hit(Fighter target, int fighter) {
+        boolean blocking = target.isBlocking();
+        float life = target.getLife();
+        target.getHit(Fighter.HIT_STRENGTH);
+
+        // Fighters that are already hurt or down don't take the hit
+        float damage = life - target.getLife();
+        if (damage > 0f) {
+            publish(blocking ? GameEvent.BLOCK : GameEvent.HIT, fighter, damage);
+            if (target.hasLost()) {
+                publish(GameEvent.KO, fighter, damage);
+            }
+        }
+    }
+
+    public static void keepWithinRingBounds(Vector2 position) {
+        if (position.y < RING_MIN_Y) {
+            position.y = RING_MIN_Y;
+        } else if (position.y > RING_MAX_Y) {
+            position.y = RING_MAX_Y;
+        }
+
+        if (position.x < position.y / RING_SLOPE + RING_MIN_X) {
+            position.x = position.y / RING_SLOPE + RING_MIN_X;
+        } else if (position.x > position.y / -RING_SLOPE + RING_MAX_X) {
+            position.x = position.y / -RING_SLOPE + RING_MAX_X;
+        }
+    }
+
+    public void writeSnapshot(MatchSnapshot snapshot) {
+        snapshot.gameState = gameState;
+        snapshot.roundState = roundState;
+        snapshot.roundStateTime = roundStateTime;
+        snapshot.roundTimer = roundTimer;
+        snapshot.currentRound = currentRound;
+        snapshot.roundWin = roundWin;
+        snapshot.roundLost = roundLost;
+        snapshot.difficulty = difficulty;
+        snapshot.playerControls = playerControls;
+        snapshot.opponentControls = opponentControls;
+        player.writeSnapshot(snapshot.player);
+        opponent.writeSnapshot(snapshot.opponent);
+    }
+
+    public void readSnapshot(MatchSnapshot snapshot) {
+        gameState = snapshot.gameState;
+        roundState = snapshot.roundState;
+        roundStateTime = snapshot.roundStateTime;
+        roundTimer = snapshot.roundTimer;
+        currentRound = snapshot.currentRound;
+        roundWin = snapshot.roundWin;
+        roundLost = snapshot.roundLost;
+        difficulty = snapshot.difficulty;
+        playerControls = snapshot.playerControls;
+        opponentControls = snapshot.opponentControls;
+        player.readSnapshot(snapshot.player);
+        opponent.readSnapshot(snapshot.opponent);
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.hbazai.fighter.simulation;
+
+import io.github.hbazai.fighter.resources.GlobalVariables;
+
+/**
+ * State of a {@link Match} after one simulation tick, together with the fighters' state of the tick before it so the
+ * render thread can interpolate between the two. The current state is complete, so it can also be used to roll the
+ * match back with {@link Match#readSnapshot(MatchSnapshot)}.
+ */
+public class MatchSnapshot {
+    public long tick;
+    public long timeNanos;
+
+    public Match.GameState gameState = Match.GameState.RUNNING;
+    public Match.RoundState roundState = Match.RoundState.STARTING;
+    public float roundStateTime;
+    public float roundTimer;
+    public int currentRound;
+    public int roundWin, roundLost;
+    public GlobalVariables.Difficulty difficulty = GlobalVariables.Difficulty.EASY;
+    public int playerControls, opponentControls;
+
+    public final FighterSnapshot player = new FighterSnapshot();
+    public final FighterSnapshot opponent = new FighterSnapshot();
+    public final FighterSnapshot previousPlayer = new FighterSnapshot();
+    public final FighterSnapshot previousOpponent = new FighterSnapshot();
+
+    /**
+     * Hash of the current state, without the tick, the time and the fighters' previous state. Matches fed the same
+     * inputs end with the same checksum, which is how a replay tells whether it played back to where it was recorded.
+     */
+    public int checksum() {
+        int hash = gameState.ordinal();
+        hash = 31 * hash + roundState.ordinal();
+        hash = 31 * hash + Float.floatToIntBits(roundStateTime);
+        hash = 31 * hash + Float.floatToIntBits(roundTimer);
+        hash = 31 * hash + currentRound;
+        hash = 31 * hash + roundWin;
+        hash = 31 * hash + roundLost;
+        hash = 31 * hash + difficulty.ordinal();
+        hash = 31 * hash + playerControls;
+        hash = 31 * hash + opponentControls;
+        hash = 31 * hash + player.checksum();
+        hash = 31 * hash + opponent.checksum();
+        return hash;
+    }
+}
@@ -0,0 +1,206 @@
+package io.github.hbazai.fighter.simulation;
+
+import io.github.hbazai.fighter.objects.Fighter;
+import io.github.hbazai.fighter.resources.GlobalVariables;
+
+/**
+ * Computer controlled fighter, normally the opponent, but it can play the player's side too for bot against bot games.
+ * Decisions are looked up in tables built once for every difficulty, keyed on where the player is relative to the
+ * opponent and what the player is doing, so a tick costs a handful of array reads and never allocates. The difficulty
+ * sets how late the opponent sees the player, how often it changes its mind and how eager it is to attack and block.
+ */
+public class OpponentAi {
+    // Relative position buckets, aligned so the contact distance falls exactly on a bucket edge
+    private static final float DX_BUCKET = Match.FIGHTER_CONTACT_DISTANCE_X / 3f;
+    private static final float DY_BUCKET = Match.FIGHTER_CONTACT_DISTANCE_Y / 2f;
+    private static final int DX_HALF = (int) Math.ceil((Match.RING_MAX_X - Match.RING_MIN_X) / DX_BUCKET);
+    private static final int DY_HALF = (int) Math.ceil((Match.RING_MAX_Y - Match.RING_MIN_Y) / DY_BUCKET);
+    private static final int DX_BUCKETS = DX_HALF * 2;
+    private static final int DY_BUCKETS = DY_HALF * 2;
+    private static final int STATES = Fighter.State.values().length;
+    private static final int CELLS = DX_BUCKETS * DY_BUCKETS * STATES;
+
+    // Both attack bits in a table entry mean "punch or kick", picked when the decision is made
+    private static final int ATTACK = Controls.PUNCH | Controls.KICK;
+
+    // Per difficulty: ticks the opponent sees the player late, ticks between decisions, chance to attack and to block
+    private static final int[] REACTION_TICKS = {30, 18, 8};
+    private static final int[] DECISION_TICKS = {24, 12, 6};
+    private static final float[] AGGRESSION = {0.35f, 0.6f, 0.85f};
+    private static final float[] BLOCKING = {0.1f, 0.45f, 0.8f};
+
+    // Controls to hold for each cell, and the chance out of 256 to do it instead of standing still
+    private static final byte[] ACTIONS = new byte[GlobalVariables.Difficulty.values().length * CELLS];
+    private static final short[] CHANCES = new short[ACTIONS.length];
+
+    static {
+        for (GlobalVariables.Difficulty difficulty : GlobalVariables.Difficulty.values()) {
+            for (int dx = 0; dx < DX_BUCKETS; dx++) {
+                for (int dy = 0; dy < DY_BUCKETS; dy++) {
+                    for (Fighter.State state : Fighter.State.values()) {
+                        buildCell(difficulty.ordinal(), dx, dy, state);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void buildCell(int difficulty, int dx, int dy, Fighter.State playerState) {
+        // Buckets below the half point hold the player on the left or below the opponent
+        boolean inRangeX = dx >= DX_HALF - 3 && dx < DX_HALF + 3;
+        boolean inRangeY = dy >= DY_HALF - 2 && dy < DY_HALF + 2;
+
+        int action;
+        float chance;
+        if (playerState == Fighter.State.WIN || playerState == Fighter.State.LOSE) {
+            action = Controls.NONE;
+            chance = 1f;
+        } else if (inRangeX && inRangeY) {
+            if (playerState == Fighter.State.PUNCH || playerState == Fighter.State.KICK) {
+                action = Controls.BLOCK;
+                chance = BLOCKING[difficulty];
+            } else if (playerState == Fighter.State.BLOCK) {
+                // Wait for the guard to drop rather than chipping away at it
+                action = ATTACK;
+                chance = AGGRESSION[difficulty] * 0.5f;
+            } else if (playerState == Fighter.State.HURT) {
+                // Follow up while the player is stunned
+                action = ATTACK;
+                chance = Math.min(1f, AGGRESSION[difficulty] + 0.2f);
+            } else {
+                action = ATTACK;
+                chance = AGGRESSION[difficulty];
+            }
+        } else {
+            // Close in on the player
+            action = Controls.NONE;
+            if (!inRangeX) {
+                action |= dx < DX_HALF ? Controls.LEFT : Controls.RIGHT;
+            }
+            if (!inRangeY) {
+                action |= dy < DY_HALF ? Controls.DOWN : Controls.UP;
+            }
+            chance = AGGRESSION[difficulty];
+        }
+
+        int index = difficulty * CELLS + cell(dx, dy, playerState.ordinal());
+        ACTIONS[index] = (byte) action;
+        CHANCES[index] = (short) Math.round(chance * 256f);
+    }
+
+    private static int cell(int dx, int dy, int state) {
+        return (dx * DY_BUCKETS + dy) * STATES + state;
+    }
+
+    private static int bucket(float distance, float size, int half, int buckets) {
+        int bucket = (int) Math.floor(distance / size) + half;
+        return bucket < 0 ? 0 : bucket >= buckets ? buckets - 1 : bucket;
+    }
+
+    // What the opponent has seen, newest last, so it can react to the player as it was a few ticks ago
+    private final int[] observations = new int[32];
+    private int observationCount;
+    private int generation = -1;
+
+    private final boolean controlsPlayer;
+    // Fixed difficulty, or null to follow the match's difficulty
+    private final GlobalVariables.Difficulty difficulty;
+
+    private int heldControls;
+    private int attack;
+    private int ticksToDecision;
+    private int seed;
+
+    public OpponentAi() {
+        this(false, null);
+    }
+
+    public OpponentAi(boolean controlsPlayer, GlobalVariables.Difficulty difficulty) {
+        this.controlsPlayer = controlsPlayer;
+        this.difficulty = difficulty;
+        reset();
+    }
+
+    public void reset() {
+        reset(0x2545F491);
+    }
+
+    /**
+     * Forgets everything and restarts the random sequence from the given non-zero seed.
+     */
+    public void reset(int seed) {
+        observationCount = 0;
+        generation = -1;
+        heldControls = Controls.NONE;
+        attack = Controls.NONE;
+        ticksToDecision = 0;
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the controls the fighter holds during the coming tick.
+     */
+    public int update(Match match) {
+        // The opponent is the fighter controlled here, the player is the one it fights
+        Fighter player = controlsPlayer ? match.getOpponent() : match.getPlayer();
+        Fighter opponent = controlsPlayer ? match.getPlayer() : match.getOpponent();
+
+        // Forget what was seen before the fighters were reset
+        if (opponent.getGeneration() != generation) {
+            generation = opponent.getGeneration();
+            observationCount = 0;
+            heldControls = Controls.NONE;
+            attack = Controls.NONE;
+            ticksToDecision = 0;
+        }
+
+        // Nothing to do until the fight is on, and holding a control now would swallow its press
+        if (match.getRoundState() != Match.RoundState.IN_PROGRESS) {
+            heldControls = Controls.NONE;
+            ticksToDecision = 0;
+            return Controls.NONE;
+        }
+
+        int observation = cell(
+            bucket(player.getPosition().x - opponent.getPosition().x, DX_BUCKET, DX_HALF, DX_BUCKETS),
+            bucket(player.getPosition().y - opponent.getPosition().y, DY_BUCKET, DY_HALF, DY_BUCKETS),
+            player.getState().ordinal()
+        );
+        observations[observationCount++ & (observations.length - 1)] = observation;
+
+        int difficulty = (this.difficulty != null ? this.difficulty : match.getDifficulty()).ordinal();
+        if (--ticksToDecision <= 0) {
+            ticksToDecision = DECISION_TICKS[difficulty];
+
+            // React to the oldest observation within the reaction time
+            int delay = Math.min(REACTION_TICKS[difficulty], observationCount - 1);
+            int seen = observations[(observationCount - 1 - delay) & (observations.length - 1)];
+            decide(difficulty * CELLS + seen);
+        }
+
+        // Attacks are triggered by a press, so they only last a single tick
+        int controls = heldControls | attack;
+        attack = Controls.NONE;
+        return controls;
+    }
+
+    private void decide(int index) {
+        int action = ACTIONS[index];
+        if ((nextRandom() & 0xff) >= CHANCES[index]) {
+            action = Controls.NONE;
+        }
+
+        if ((action & ATTACK) != 0) {
+            attack = (nextRandom() & 1) == 0 ? Controls.PUNCH : Controls.KICK;
+        }
+        heldControls = action & ~ATTACK;
+    }
+
+    // xorshift, kept per instance so every match sees the same sequence
+    private int nextRandom() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed >>> 8;
+    }
+}
@@ -0,0 +1,192 @@
+package io.github.hbazai.fighter.simulation;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.hbazai.fighter.net.RollbackSession;
+import io.github.hbazai.fighter.replay.ReplayRecorder;
+
+/**
+ * Steps a {@link Match} at a fixed rate and hands the results to the render thread through a {@link SnapshotBuffer}.
+ * Input arrives from the render thread at any time and is picked up at the start of the next tick.
+ */
+public abstract class SimulationRunner {
+    public static final int TICKS_PER_SECOND = 120;
+    public static final float STEP = 1f / TICKS_PER_SECOND;
+    public static final long STEP_NANOS = 1_000_000_000L / TICKS_PER_SECOND;
+
+    // Max number of ticks to run in one go before giving up on catching up with real time
+    public static final int MAX_CATCH_UP_TICKS = 12;
+
+    protected final Match match;
+    private final SnapshotBuffer buffer = new SnapshotBuffer();
+    private final GameEvents events = new GameEvents();
+
+    // Written by the render thread, read by the simulation
+    private final AtomicInteger heldControls = new AtomicInteger();
+    private final AtomicInteger pressedControls = new AtomicInteger();
+    private final AtomicInteger commands = new AtomicInteger();
+
+    // Owned by the simulation
+    private final FighterSnapshot lastPlayer = new FighterSnapshot();
+    private final FighterSnapshot lastOpponent = new FighterSnapshot();
+    private final OpponentAi opponentAi = new OpponentAi();
+    private RollbackSession session;
+    private final ReplayRecorder recorder = new ReplayRecorder();
+    private long tick;
+
+    // Owned by the render thread
+    private MatchSnapshot snapshot;
+    private float alpha;
+
+    protected SimulationRunner(Match match) {
+        this.match = match;
+        match.setEvents(events);
+    }
+
+    /**
+     * Creates the runner a platform steps its matches with. Launchers with threads pick
+     * {@link ThreadedSimulationRunner}, which the web build doesn't compile, everything else runs
+     * {@link InlineSimulationRunner}.
+     */
+    public interface Factory {
+        SimulationRunner create(Match match);
+    }
+
+    public Match getMatch() {
+        return match;
+    }
+
+    /**
+     * Plays the opponent over the network instead of with the AI. Must be set before {@link #start()}.
+     */
+    public void setSession(RollbackSession session) {
+        this.session = session;
+    }
+
+    public RollbackSession getSession() {
+        return session;
+    }
+
+    /**
+     * Events published by the match, to be drained by the render thread once per frame.
+     */
+    public GameEvents getEvents() {
+        return events;
+    }
+
+    /**
+     * Inputs of the game played since the last {@link #start()}. Only safe to read while the simulation is stopped.
+     */
+    public ReplayRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Starts a new game and the simulation. Must be called from the render thread.
+     */
+    public void start() {
+        events.clear();
+        match.startGame();
+        recorder.begin(match);
+        opponentAi.reset();
+        if (session != null) {
+            session.reset();
+        }
+        tick = 0;
+        match.writeSnapshot(buffer.getBack());
+        lastPlayer.copyFrom(buffer.getBack().player);
+        lastOpponent.copyFrom(buffer.getBack().opponent);
+        publish();
+        snapshot = null;
+        frame(0f);
+    }
+
+    public abstract void stop();
+
+    /**
+     * Stops ticking without ending the game, until {@link #resume()}. Must be called from the render thread.
+     */
+    public abstract void pause();
+
+    public abstract void resume();
+
+    /**
+     * Advances the simulation as needed and picks up the latest snapshot. Called by the render thread once per frame.
+     */
+    public void frame(float delta) {
+        if (buffer.poll() || snapshot == null) {
+            snapshot = buffer.getFront();
+        }
+        alpha = computeAlpha(snapshot);
+    }
+
+    protected abstract float computeAlpha(MatchSnapshot snapshot);
+
+    public MatchSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public float getAlpha() {
+        return alpha;
+    }
+
+    public void press(int controls) {
+        setBits(heldControls, controls);
+        // Remember the press until the next tick, so a tap shorter than a tick is not lost
+        setBits(pressedControls, controls);
+    }
+
+    public void release(int controls) {
+        int current;
+        do {
+            current = heldControls.get();
+        } while (!heldControls.compareAndSet(current, current & ~controls));
+    }
+
+    public void command(int command) {
+        setBits(commands, command);
+    }
+
+    protected final void tick() {
+        int commands = this.commands.getAndSet(0);
+        int playerControls = heldControls.get() | pressedControls.getAndSet(0);
+        if (session != null) {
+            // The session applies the commands and controls, possibly after rolling the match back
+            session.advance(playerControls, commands);
+        } else {
+            match.applyCommands(commands);
+            int opponentControls = opponentAi.update(match);
+            recorder.record(playerControls | commands << Controls.COMMAND_SHIFT, opponentControls);
+            match.update(STEP, playerControls, opponentControls);
+        }
+
+        MatchSnapshot back = buffer.getBack();
+        back.previousPlayer.copyFrom(lastPlayer);
+        back.previousOpponent.copyFrom(lastOpponent);
+        match.writeSnapshot(back);
+        lastPlayer.copyFrom(back.player);
+        lastOpponent.copyFrom(back.opponent);
+        tick++;
+        publish();
+    }
+
+    private void publish() {
+        MatchSnapshot back = buffer.getBack();
+        if (tick == 0) {
+            back.previousPlayer.copyFrom(back.player);
+            back.previousOpponent.copyFrom(back.opponent);
+        }
+        back.tick = tick;
+        back.timeNanos = TimeUtils.nanoTime();
+        buffer.publish();
+    }
+
+    private static void setBits(AtomicInteger value, int bits) {
+        int current;
+        do {
+            current = value.get();
+        } while (!value.compareAndSet(current, current | bits));
+    }
+}
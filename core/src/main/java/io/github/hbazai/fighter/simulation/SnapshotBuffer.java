@@ -0,0 +1,44 @@
+package io.github.hbazai.fighter.simulation;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer handing {@link MatchSnapshot}s from the simulation (single writer) to the render thread
+ * (single reader). The writer always has a slot to write into and the reader always has a complete slot to read from,
+ * so neither side ever waits for the other.
+ */
+public class SnapshotBuffer {
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    private final MatchSnapshot[] slots = {new MatchSnapshot(), new MatchSnapshot(), new MatchSnapshot()};
+
+    // Index of the slot in between the writer and the reader, flagged as fresh when it holds an unread snapshot
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    // Owned by the writer
+    private int back = 0;
+
+    // Owned by the reader
+    private int front = 2;
+
+    public MatchSnapshot getBack() {
+        return slots[back];
+    }
+
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    public boolean poll() {
+        if ((middle.get() & FRESH) == 0) {
+            return false;
+        }
+        front = middle.getAndSet(front) & INDEX_MASK;
+        return true;
+    }
+
+    public MatchSnapshot getFront() {
+        return slots[front];
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.hbazai.fighter.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid over a rectangle, rebuilt from scratch every tick with a counting sort. Items are ints, positions
+ * outside the rectangle are clamped into the border cells. Finding everything near a point only visits the cells
+ * around it, so checking every item against its neighbours grows with the number of items rather than its square.
+ */
+public class SpatialGrid {
+    private final float minX, minY;
+    private final float cellWidth, cellHeight;
+    private final int columns, rows;
+
+    // Items sorted by cell, the items of cell c are items[cellStart[c]] up to items[cellStart[c + 1]]
+    private final int[] cellStart;
+    private final int[] items;
+
+    // Items added since the last build and their cells
+    private final int[] added;
+    private final int[] addedCells;
+    private int size;
+
+    public SpatialGrid(float minX, float minY, float maxX, float maxY, float cellWidth, float cellHeight, int capacity) {
+        this.minX = minX;
+        this.minY = minY;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        columns = Math.max(1, (int) Math.ceil((maxX - minX) / cellWidth));
+        rows = Math.max(1, (int) Math.ceil((maxY - minY) / cellHeight));
+        cellStart = new int[columns * rows + 1];
+        items = new int[capacity];
+        added = new int[capacity];
+        addedCells = new int[capacity];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(int item, float x, float y) {
+        added[size] = item;
+        addedCells[size] = getColumn(x) + getRow(y) * columns;
+        size++;
+    }
+
+    /**
+     * Sorts the items added since {@link #clear()} into their cells, must be called before querying.
+     */
+    public void build() {
+        Arrays.fill(cellStart, 0);
+        for (int i = 0; i < size; i++) {
+            cellStart[addedCells[i] + 1]++;
+        }
+        for (int c = 1; c < cellStart.length; c++) {
+            cellStart[c] += cellStart[c - 1];
+        }
+        // Fill each cell from its end, cellStart[c + 1] ends up back at the start of cell c + 1
+        for (int i = size - 1; i >= 0; i--) {
+            int cell = addedCells[i];
+            items[--cellStart[cell + 1]] = added[i];
+        }
+        // cellStart[c + 1] now holds the start of cell c, shift them back into place
+        System.arraycopy(cellStart, 1, cellStart, 0, cellStart.length - 1);
+        cellStart[cellStart.length - 1] = size;
+    }
+
+    public int getColumn(float x) {
+        int column = (int) ((x - minX) / cellWidth);
+        return column < 0 ? 0 : column >= columns ? columns - 1 : column;
+    }
+
+    public int getRow(float y) {
+        int row = (int) ((y - minY) / cellHeight);
+        return row < 0 ? 0 : row >= rows ? rows - 1 : row;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCell(int column, int row) {
+        return column + row * columns;
+    }
+
+    public int getCellStart(int cell) {
+        return cellStart[cell];
+    }
+
+    public int getCellEnd(int cell) {
+        return cellStart[cell + 1];
+    }
+
+    public int getItem(int index) {
+        return items[index];
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.hbazai.fighter.simulation;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Steps the simulation on its own thread, so slow frames or GC pauses on the render thread do not change game timing.
+ */
+public class ThreadedSimulationRunner extends SimulationRunner implements Runnable {
+    private Thread thread;
+    private volatile boolean running;
+
+    public ThreadedSimulationRunner(Match match) {
+        super(match);
+    }
+
+    @Override
+    public void start() {
+        stop();
+        super.start();
+        startThread();
+    }
+
+    private void startThread() {
+        running = true;
+        thread = new Thread(this, "Simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void pause() {
+        // Only the thread goes, the match stays as it is
+        stop();
+    }
+
+    @Override
+    public void resume() {
+        // The new thread starts timing from now, so the pause is not caught up on
+        if (thread == null) {
+            startThread();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (thread == null) return;
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    @Override
+    public void run() {
+        try {
+            long nextTick = TimeUtils.nanoTime();
+            while (running) {
+                long now = TimeUtils.nanoTime();
+                int ticks = 0;
+                while (now - nextTick >= 0 && ticks < MAX_CATCH_UP_TICKS) {
+                    tick();
+                    nextTick += STEP_NANOS;
+                    ticks++;
+                }
+                if (ticks == MAX_CATCH_UP_TICKS) {
+                    // Too far behind, drop the backlog instead of spiralling
+                    nextTick = now + STEP_NANOS;
+                }
+
+                long wait = nextTick - TimeUtils.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+        } catch (final Throwable t) {
+            // Let the crash surface on the render thread instead of silently freezing the game
+            Gdx.app.postRunnable(new Runnable() {
+                @Override
+                public void run() {
+                    throw new GdxRuntimeException("Simulation thread crashed", t);
+                }
+            });
+        }
+    }
+
+    @Override
+    protected float computeAlpha(MatchSnapshot snapshot) {
+        float alpha = (TimeUtils.nanoTime() - snapshot.timeNanos) / (float) STEP_NANOS;
+        return Math.min(Math.max(alpha, 0f), 1f);
+    }
+}
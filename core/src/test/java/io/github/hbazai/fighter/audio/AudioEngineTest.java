@@ -0,0 +1,60 @@
+package io.github.hbazai.fighter.audio;
+
+import com.badlogic.gdx.Gdx;
+
+import org.junit.Test;
+
+import io.github.hbazai.fighter.Headless;
+
+import static org.junit.Assert.assertTrue;
+
+public class AudioEngineTest {
+    // Sample rates of MPEG 1, 2 and 2.5, and the layer III bit rates of MPEG 1 and of MPEG 2 and 2.5, in kbit/s
+    private static final int[][] SAMPLE_RATES = {{44100, 48000, 32000}, {22050, 24000, 16000}, {11025, 12000, 8000}};
+    private static final int[][] BIT_RATES = {
+        {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320},
+        {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160}
+    };
+
+    // How much longer than the sound a voice may stay busy
+    private static final int MAX_SLACK = 50;
+
+    @Test
+    public void lengthsMatchTheSounds() {
+        Headless.game();
+        for (int i = 0; i < AudioEngine.SOUNDS.length; i++) {
+            int length = getLengthMillis(Gdx.files.internal(AudioEngine.SOUNDS[i]).readBytes());
+            String message = AudioEngine.SOUNDS[i] + " lasts " + length + " ms, not " + AudioEngine.LENGTHS[i];
+            assertTrue(message, AudioEngine.LENGTHS[i] >= length && AudioEngine.LENGTHS[i] <= length + MAX_SLACK);
+        }
+    }
+
+    private static int getLengthMillis(byte[] data) {
+        // Skip an ID3v2 tag, its size is a 28 bit syncsafe int
+        int position = 0;
+        if (data.length > 10 && data[0] == 'I' && data[1] == 'D' && data[2] == '3') {
+            position = 10 + ((data[6] & 0x7f) << 21 | (data[7] & 0x7f) << 14 | (data[8] & 0x7f) << 7 | data[9] & 0x7f);
+        }
+
+        long samples = 0;
+        int sampleRate = 1;
+        while (position + 4 <= data.length) {
+            int header = (data[position] & 0xff) << 24 | (data[position + 1] & 0xff) << 16
+                | (data[position + 2] & 0xff) << 8 | data[position + 3] & 0xff;
+            int version = header >>> 19 & 3, layer = header >>> 17 & 3;
+            int bitRate = header >>> 12 & 15, rate = header >>> 10 & 3;
+            // Look for the next layer III frame sync
+            if ((header & 0xffe00000) != 0xffe00000 || version == 1 || layer != 1 || bitRate == 0 || bitRate == 15
+                || rate == 3) {
+                position++;
+                continue;
+            }
+            int mpeg = version == 3 ? 0 : version == 2 ? 1 : 2;
+            int frameSamples = mpeg == 0 ? 1152 : 576;
+            sampleRate = SAMPLE_RATES[mpeg][rate];
+            position += frameSamples / 8 * BIT_RATES[Math.min(mpeg, 1)][bitRate] * 1000 / sampleRate + (header >>> 9 & 1);
+            samples += frameSamples;
+        }
+        return (int) (samples * 1000 / sampleRate);
+    }
+}
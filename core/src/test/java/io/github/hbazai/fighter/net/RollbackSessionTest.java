@@ -0,0 +1,213 @@
+package io.github.hbazai.fighter.net;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+
+import org.junit.Test;
+
+import io.github.hbazai.fighter.Headless;
+import io.github.hbazai.fighter.simulation.Controls;
+import io.github.hbazai.fighter.simulation.FighterSnapshot;
+import io.github.hbazai.fighter.simulation.Match;
+import io.github.hbazai.fighter.simulation.MatchSnapshot;
+import io.github.hbazai.fighter.simulation.SimulationRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RollbackSessionTest {
+    // Ticks of random input, then of no input so the last inputs reach both peers
+    private static final int INPUT_TICKS = 360;
+    private static final int SETTLE_TICKS = 120;
+    private static final long STEP_MILLIS = SimulationRunner.STEP_NANOS / 1_000_000L;
+
+    @Test
+    public void peersConvergeOverLossyLink() throws InterruptedException {
+        // Four ticks of latency, more than the input delay hides, and a fifth of the packets lost
+        LoopbackTransport[] link = LoopbackTransport.createPair(30, 10, 0.2f, 1);
+        Match playerMatch = startedMatch();
+        Match opponentMatch = startedMatch();
+        RollbackSession player = new RollbackSession(playerMatch, link[0], true);
+        RollbackSession opponent = new RollbackSession(opponentMatch, link[1], false);
+
+        RandomXS128 random = new RandomXS128(7);
+        int playerControls = Controls.NONE, opponentControls = Controls.NONE;
+        int rollbacks = 0;
+        for (int tick = 0; tick < INPUT_TICKS + SETTLE_TICKS; tick++) {
+            if (tick < INPUT_TICKS) {
+                // Skip the round start delay right away, then change what is held every few ticks
+                int commands = tick == 0 ? Match.COMMAND_SKIP_DELAY : 0;
+                if (random.nextInt(8) == 0) playerControls = random.nextInt(Controls.ALL + 1);
+                if (random.nextInt(8) == 0) opponentControls = random.nextInt(Controls.ALL + 1);
+                player.advance(playerControls, commands);
+                opponent.advance(opponentControls, 0);
+            } else {
+                player.advance(Controls.NONE, 0);
+                opponent.advance(Controls.NONE, 0);
+            }
+            rollbacks += player.getRollbackFrames() + opponent.getRollbackFrames();
+            Thread.sleep(STEP_MILLIS);
+        }
+        assertTrue("latency over the input delay must cause rollbacks", rollbacks > 0);
+
+        // Bring the peer that fell behind to the same tick
+        RollbackSession behind = player.getFrame() < opponent.getFrame() ? player : opponent;
+        int target = Math.max(player.getFrame(), opponent.getFrame());
+        for (int attempt = 0; behind.getFrame() < target && attempt < 1000; attempt++) {
+            behind.advance(Controls.NONE, 0);
+            Thread.sleep(1);
+        }
+        assertEquals(player.getFrame(), opponent.getFrame());
+
+        MatchSnapshot playerState = new MatchSnapshot();
+        MatchSnapshot opponentState = new MatchSnapshot();
+        playerMatch.writeSnapshot(playerState);
+        opponentMatch.writeSnapshot(opponentState);
+        assertSameState(playerState, opponentState);
+        assertSame("the round start was skipped on both peers", Match.RoundState.IN_PROGRESS, playerState.roundState);
+    }
+
+    @Test
+    public void inputGivenWhileStalledIsKept() {
+        ManualTransport[] link = ManualTransport.createPair();
+        Match playerMatch = startedMatch();
+        Match opponentMatch = startedMatch();
+        RollbackSession player = new RollbackSession(playerMatch, link[0], true);
+        RollbackSession opponent = new RollbackSession(opponentMatch, link[1], false);
+
+        // Nothing from the opponent reaches the player, who soon waits for it
+        link[0].blocked = true;
+        while (!player.isStalled()) {
+            player.advance(Controls.NONE, 0);
+            opponent.advance(Controls.NONE, 0);
+        }
+        int stalledFrame = player.getFrame();
+
+        // A one tick command and tap while waiting, the runner won't give them again
+        player.advance(Controls.PUNCH, Match.COMMAND_SKIP_DELAY);
+        assertEquals(stalledFrame, player.getFrame());
+
+        link[0].blocked = false;
+        for (int i = 0; i <= RollbackSession.INPUT_DELAY; i++) {
+            player.advance(Controls.NONE, 0);
+            opponent.advance(Controls.NONE, 0);
+        }
+        assertFalse(player.isStalled());
+        assertSame(Match.RoundState.IN_PROGRESS, playerMatch.getRoundState());
+    }
+
+    @Test
+    public void mispredictionResimulatesToStraightRun() {
+        ManualTransport[] link = ManualTransport.createPair();
+        Match playerMatch = startedMatch();
+        Match opponentMatch = startedMatch();
+        RollbackSession player = new RollbackSession(playerMatch, link[0], true);
+        RollbackSession opponent = new RollbackSession(opponentMatch, link[1], false);
+
+        // The player skips the round start and walks in, the opponent walks in and punches
+        int ticks = 40;
+        int[] playerInputs = new int[ticks];
+        int[] opponentInputs = new int[ticks];
+        playerInputs[0] = Match.COMMAND_SKIP_DELAY << Controls.COMMAND_SHIFT;
+        for (int tick = 0; tick < ticks; tick++) {
+            if (tick >= 4 && tick < 20) playerInputs[tick] |= Controls.RIGHT;
+            if (tick >= 1 && tick < 24) opponentInputs[tick] = Controls.LEFT;
+            if (tick >= 24 && tick < 27) opponentInputs[tick] = Controls.PUNCH;
+        }
+
+        int rollbacks = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            // The opponent's inputs reach the player late, in two bursts shorter than a stall
+            link[0].blocked = tick < 6 || tick >= 22 && tick < 28;
+            player.advance(playerInputs[tick] & Controls.ALL, playerInputs[tick] >>> Controls.COMMAND_SHIFT);
+            opponent.advance(opponentInputs[tick], 0);
+            assertFalse(player.isStalled());
+            rollbacks += player.getRollbackFrames();
+        }
+        assertTrue("the player must have predicted wrong", rollbacks > 0);
+
+        // The same inputs, each applied after the input delay, without any prediction
+        Match straight = startedMatch();
+        for (int frame = 0; frame < ticks; frame++) {
+            int playerInput = frame >= RollbackSession.INPUT_DELAY ? playerInputs[frame - RollbackSession.INPUT_DELAY] : 0;
+            int opponentInput = frame >= RollbackSession.INPUT_DELAY ? opponentInputs[frame - RollbackSession.INPUT_DELAY] : 0;
+            straight.applyCommands((playerInput | opponentInput) >>> Controls.COMMAND_SHIFT);
+            straight.update(SimulationRunner.STEP, playerInput & Controls.ALL, opponentInput & Controls.ALL);
+        }
+
+        MatchSnapshot expected = new MatchSnapshot();
+        MatchSnapshot actual = new MatchSnapshot();
+        straight.writeSnapshot(expected);
+        playerMatch.writeSnapshot(actual);
+        assertSameState(expected, actual);
+        opponentMatch.writeSnapshot(actual);
+        assertSameState(expected, actual);
+
+        MatchSnapshot start = new MatchSnapshot();
+        startedMatch().writeSnapshot(start);
+        assertNotEquals("the opponent must have walked", start.opponent.x, expected.opponent.x, 0f);
+    }
+
+    private static Match startedMatch() {
+        Match match = Headless.match();
+        match.startGame();
+        return match;
+    }
+
+    private static void assertSameState(MatchSnapshot expected, MatchSnapshot actual) {
+        assertSame(expected.gameState, actual.gameState);
+        assertSame(expected.roundState, actual.roundState);
+        assertEquals(expected.roundStateTime, actual.roundStateTime, 0f);
+        assertEquals(expected.roundTimer, actual.roundTimer, 0f);
+        assertEquals(expected.currentRound, actual.currentRound);
+        assertEquals(expected.roundWin, actual.roundWin);
+        assertEquals(expected.roundLost, actual.roundLost);
+        assertSameFighter(expected.player, actual.player);
+        assertSameFighter(expected.opponent, actual.opponent);
+    }
+
+    private static void assertSameFighter(FighterSnapshot expected, FighterSnapshot actual) {
+        assertSame(expected.state, actual.state);
+        assertEquals(expected.stateTime, actual.stateTime, 0f);
+        assertEquals(expected.x, actual.x, 0f);
+        assertEquals(expected.y, actual.y, 0f);
+        assertEquals(expected.facing, actual.facing);
+        assertEquals(expected.life, actual.life, 0f);
+        assertEquals(expected.madeContact, actual.madeContact);
+    }
+
+    /**
+     * Link that delivers right away, in order, unless the receiving end is blocked.
+     */
+    private static class ManualTransport implements Transport {
+        private final Array<byte[]> incoming = new Array<>();
+        private ManualTransport remote;
+        boolean blocked;
+
+        static ManualTransport[] createPair() {
+            ManualTransport first = new ManualTransport();
+            ManualTransport second = new ManualTransport();
+            first.remote = second;
+            second.remote = first;
+            return new ManualTransport[]{first, second};
+        }
+
+        @Override
+        public void send(byte[] data, int length) {
+            byte[] packet = new byte[length];
+            System.arraycopy(data, 0, packet, 0, length);
+            remote.incoming.add(packet);
+        }
+
+        @Override
+        public int receive(byte[] buffer) {
+            if (blocked || incoming.isEmpty()) return -1;
+            byte[] packet = incoming.removeIndex(0);
+            System.arraycopy(packet, 0, buffer, 0, packet.length);
+            return packet.length;
+        }
+    }
+}
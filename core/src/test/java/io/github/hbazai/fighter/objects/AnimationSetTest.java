@@ -0,0 +1,44 @@
+package io.github.hbazai.fighter.objects;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+
+import org.junit.Test;
+
+import io.github.hbazai.fighter.Headless;
+import io.github.hbazai.fighter.resources.Assets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class AnimationSetTest {
+    @Test
+    public void everyStatePlaysItsSheetInOrder() {
+        TextureAtlas atlas = Headless.game().assets.manager.get(Assets.GAMEPLAY_ATLAS);
+        AnimationSet animations = Headless.game().assets.animations.get(atlas);
+        for (Fighter.State state : Fighter.State.values()) {
+            AtlasRegion[] frames = animations.get(state).getKeyFrames();
+            assertEquals(AnimationSet.FRAMES, frames.length);
+            for (int i = 0; i < frames.length; i++) {
+                assertEquals(state + " frame " + i, i, frames[i].index);
+            }
+        }
+    }
+
+    @Test
+    public void worldDrawsFromOnePage() {
+        TextureAtlas atlas = Headless.game().assets.manager.get(Assets.GAMEPLAY_ATLAS);
+        assertEquals(1, atlas.getTextures().size);
+
+        Texture page = atlas.findRegion(Assets.BACKGROUND_TEXTURE).getTexture();
+        assertSame(page, atlas.findRegion(Assets.FRONT_REPOES_TEXTURE).getTexture());
+        assertSame(page, atlas.findRegion(Assets.WHITE_REGION).getTexture());
+        AnimationSet animations = Headless.game().assets.animations.get(atlas);
+        for (Fighter.State state : Fighter.State.values()) {
+            for (AtlasRegion frame : animations.get(state).getKeyFrames()) {
+                assertSame(page, frame.getTexture());
+            }
+        }
+    }
+}
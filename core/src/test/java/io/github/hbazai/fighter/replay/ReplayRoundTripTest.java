@@ -0,0 +1,140 @@
+package io.github.hbazai.fighter.replay;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.ByteArray;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import io.github.hbazai.fighter.Headless;
+import io.github.hbazai.fighter.simulation.Controls;
+import io.github.hbazai.fighter.simulation.Match;
+import io.github.hbazai.fighter.simulation.MatchSnapshot;
+import io.github.hbazai.fighter.simulation.OpponentAi;
+import io.github.hbazai.fighter.simulation.SimulationRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReplayRoundTripTest {
+    // Long enough for several index entries
+    private static final int TICKS = Replay.INDEX_INTERVAL * 5 / 2;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void varintsRoundTrip() {
+        int[] values = {0, 1, 0x7f, 0x80, 0x3fff, 0x4000, 0xffff, 0x1fffff, 0x200000, Integer.MAX_VALUE, -1};
+        ByteArray out = new ByteArray();
+        for (int value : values) {
+            ReplayRecorder.writeVarint(out, value);
+        }
+        // Seven bits per byte, negative values take all five
+        assertEquals(1 + 1 + 1 + 2 + 2 + 3 + 3 + 3 + 4 + 5 + 5, out.size);
+
+        ByteBuffer in = ByteBuffer.wrap(out.items, 0, out.size);
+        for (int value : values) {
+            assertEquals(value, ReplayReader.readVarint(in));
+        }
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    public void inputsRoundTrip() throws IOException {
+        Match match = Headless.match();
+        match.startGame();
+        int[] playerInputs = new int[TICKS];
+        int[] opponentInputs = new int[TICKS];
+        RandomXS128 random = new RandomXS128(3);
+        int player = Controls.NONE, opponent = Controls.NONE;
+        for (int tick = 0; tick < TICKS; tick++) {
+            // Changes are sparse, with gaps long enough to need wide event headers, and commands take the high bits
+            if (random.nextInt(40) == 0) player = random.nextInt(Controls.ALL + 1);
+            if (random.nextInt(40) == 0) opponent = random.nextInt(Controls.ALL + 1);
+            int commands = random.nextInt(100) == 0 ? Match.COMMAND_SKIP_DELAY << Controls.COMMAND_SHIFT : 0;
+            playerInputs[tick] = player | commands;
+            opponentInputs[tick] = opponent;
+        }
+
+        ReplayRecorder recorder = new ReplayRecorder();
+        recorder.begin(match);
+        for (int tick = 0; tick < TICKS; tick++) {
+            recorder.record(playerInputs[tick], opponentInputs[tick]);
+        }
+        FileHandle file = new FileHandle(folder.newFile("round-trip" + ReplayRecorder.EXTENSION));
+        recorder.save(file, match);
+
+        ReplayReader reader = new ReplayReader(ByteBuffer.wrap(file.readBytes()));
+        assertEquals(match.getDifficulty(), reader.difficulty);
+        assertEquals(match.getPlayer().getName(), reader.playerName);
+        assertEquals(match.getOpponent().getName(), reader.opponentName);
+        assertEquals(match.getPlayer().getColor(), reader.playerColor);
+        assertEquals(TICKS, reader.getTickCount());
+
+        for (int tick = 0; tick < TICKS; tick++) {
+            assertTrue(reader.next());
+            assertEquals("player input of tick " + tick, playerInputs[tick], reader.getPlayerInput());
+            assertEquals("opponent input of tick " + tick, opponentInputs[tick], reader.getOpponentInput());
+        }
+        assertFalse(reader.next());
+
+        // Seeking lands on the same inputs, before, on and after index entries
+        int[] targets = {TICKS - 1, 0, Replay.INDEX_INTERVAL - 1, Replay.INDEX_INTERVAL, Replay.INDEX_INTERVAL * 2 + 17, 5};
+        for (int target : targets) {
+            reader.seek(target);
+            assertEquals(target, reader.getTick());
+            assertTrue(reader.next());
+            assertEquals("player input after seeking to " + target, playerInputs[target], reader.getPlayerInput());
+            assertEquals("opponent input after seeking to " + target, opponentInputs[target], reader.getOpponentInput());
+        }
+    }
+
+    @Test
+    public void playbackEndsInTheRecordedState() throws IOException {
+        // Record a game the way SimulationRunner does, with random inputs against the computer
+        Match match = Headless.match();
+        match.startGame();
+        OpponentAi ai = new OpponentAi();
+        ReplayRecorder recorder = new ReplayRecorder();
+        recorder.begin(match);
+        RandomXS128 random = new RandomXS128(5);
+        int controls = Controls.NONE;
+        for (int tick = 0; tick < TICKS; tick++) {
+            if (random.nextInt(8) == 0) controls = random.nextInt(Controls.ALL + 1);
+            int commands = tick == 0 ? Match.COMMAND_SKIP_DELAY : 0;
+            match.applyCommands(commands);
+            int opponentControls = ai.update(match);
+            recorder.record(controls | commands << Controls.COMMAND_SHIFT, opponentControls);
+            match.update(SimulationRunner.STEP, controls, opponentControls);
+        }
+        FileHandle file = new FileHandle(folder.newFile("playback" + ReplayRecorder.EXTENSION));
+        recorder.save(file, match);
+
+        MatchSnapshot recorded = new MatchSnapshot();
+        match.writeSnapshot(recorded);
+        ReplayReader reader = ReplayReader.open(file);
+        assertEquals(recorded.checksum(), reader.getChecksum());
+
+        MatchSnapshot played = new MatchSnapshot();
+        Match playback = Headless.match();
+        assertEquals(TICKS, reader.play(playback));
+        playback.writeSnapshot(played);
+        assertEquals(reader.getChecksum(), played.checksum());
+
+        // Stopping early leaves the match somewhere else, and playing again starts over
+        reader.play(playback, TICKS / 2);
+        playback.writeSnapshot(played);
+        assertNotEquals(reader.getChecksum(), played.checksum());
+        assertEquals(TICKS, reader.play(playback));
+        playback.writeSnapshot(played);
+        assertEquals(reader.getChecksum(), played.checksum());
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.hbazai.fighter.screens;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RenderQueueTest {
+    private final RenderQueue queue = new RenderQueue(4);
+    // Textures and handles of the objects in the order they were drawn
+    private final IntArray drawnTextures = new IntArray();
+    private final IntArray drawn = new IntArray();
+
+    @Test
+    public void crowdAtAlmostTheSameDepthIsGroupedByTexture() {
+        // A row of fighters on two alternating textures, each a little further down the ring than the last
+        int count = 16;
+        int[] handles = add(count);
+        for (int frame = 0; frame < 2; frame++) {
+            drawnTextures.clear();
+            for (int i = 0; i < count; i++) {
+                queue.submit(handles[i], RenderQueue.LAYER_FIGHTERS, 10f + i * 0.01f, i % 2);
+            }
+            queue.render(null);
+            // Sorting strictly by depth would switch textures after every fighter
+            assertEquals(1, getTextureSwitches());
+        }
+    }
+
+    @Test
+    public void bandsAreDrawnBackToFront() {
+        int[] handles = add(4);
+        queue.submit(handles[0], RenderQueue.LAYER_FIGHTERS, 5f, 1);
+        queue.submit(handles[1], RenderQueue.LAYER_FIGHTERS, 12f, 0);
+        queue.submit(handles[2], RenderQueue.LAYER_GROUND, 0f, 1);
+        queue.submit(handles[3], RenderQueue.LAYER_FIGHTERS, 12f - RenderQueue.DEPTH_BAND * 2f, 1);
+        queue.render(null);
+
+        assertEquals(IntArray.with(handles[2], handles[1], handles[3], handles[0]), drawn);
+    }
+
+    @Test
+    public void sameTextureKeepsTheExactDepthOrder() {
+        int[] handles = add(3);
+        queue.submit(handles[0], RenderQueue.LAYER_FIGHTERS, 10.1f, 0);
+        queue.submit(handles[1], RenderQueue.LAYER_FIGHTERS, 10.3f, 0);
+        queue.submit(handles[2], RenderQueue.LAYER_FIGHTERS, 10.2f, 0);
+        queue.render(null);
+
+        assertEquals(IntArray.with(handles[1], handles[2], handles[0]), drawn);
+    }
+
+    @Test
+    public void onlySubmittedObjectsAreDrawn() {
+        int[] handles = add(3);
+        queue.submit(handles[1], RenderQueue.LAYER_FIGHTERS, 10f, 0);
+        queue.render(null);
+        assertEquals(IntArray.with(handles[1]), drawn);
+
+        drawn.clear();
+        queue.render(null);
+        assertEquals(0, drawn.size);
+    }
+
+    private int[] add(int count) {
+        int[] handles = new int[count];
+        for (int i = 0; i < count; i++) {
+            int object = i;
+            handles[i] = queue.add(batch -> {
+                drawn.add(object);
+                drawnTextures.add(object % 2);
+            });
+        }
+        return handles;
+    }
+
+    private int getTextureSwitches() {
+        int switches = 0;
+        for (int i = 1; i < drawnTextures.size; i++) {
+            if (drawnTextures.get(i) != drawnTextures.get(i - 1)) switches++;
+        }
+        return switches;
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.hbazai.fighter.simulation;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class GameEventsTest {
+    private final GameEvents events = new GameEvents();
+    // Rounds of the events drained so far, the events themselves are reused
+    private final IntArray received = new IntArray();
+
+    public GameEventsTest() {
+        events.addListener(event -> received.add(event.round));
+    }
+
+    @Test
+    public void eventsStayInOrderAcrossTheEndOfTheRing() {
+        int round = 0;
+        // Each pass starts further into the ring, the last ones wrap past its end
+        for (int pass = 0; pass < 5; pass++) {
+            received.clear();
+            int count = GameEvents.CAPACITY / 2 + 7;
+            int first = round;
+            for (int i = 0; i < count; i++) {
+                publish(round++);
+            }
+            events.drain();
+
+            assertEquals(count, received.size);
+            for (int i = 0; i < count; i++) {
+                assertEquals(first + i, received.get(i));
+            }
+        }
+        assertEquals(0, events.getDropped());
+    }
+
+    @Test
+    public void fullRingDropsNewEvents() {
+        // Move the ring off its start first
+        publish(-1);
+        events.drain();
+        received.clear();
+
+        for (int i = 0; i < GameEvents.CAPACITY + 3; i++) {
+            publish(i);
+        }
+        assertEquals(3, events.getDropped());
+
+        events.drain();
+        assertEquals(GameEvents.CAPACITY, received.size);
+        for (int i = 0; i < GameEvents.CAPACITY; i++) {
+            assertEquals(i, received.get(i));
+        }
+
+        // Draining made room again
+        received.clear();
+        publish(1000);
+        events.drain();
+        assertEquals(IntArray.with(1000), received);
+    }
+
+    @Test
+    public void clearForgetsUndrainedEvents() {
+        publish(1);
+        publish(2);
+        events.clear();
+        publish(3);
+        events.drain();
+        assertEquals(IntArray.with(3), received);
+    }
+
+    private void publish(int round) {
+        events.publish(GameEvent.HIT, GameEvent.PLAYER, 0f, 0f, 1, 10f, round);
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.hbazai.fighter.simulation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SnapshotBufferTest {
+    @Test
+    public void pollHandsOverThePublishedSlot() {
+        SnapshotBuffer buffer = new SnapshotBuffer();
+        assertFalse("nothing was published yet", buffer.poll());
+
+        MatchSnapshot written = buffer.getBack();
+        written.currentRound = 2;
+        buffer.publish();
+        assertNotSame("the writer moves on to another slot", written, buffer.getBack());
+
+        assertTrue(buffer.poll());
+        assertSame(written, buffer.getFront());
+        assertEquals(2, buffer.getFront().currentRound);
+        assertFalse("a snapshot is only handed over once", buffer.poll());
+        assertSame(written, buffer.getFront());
+    }
+
+    @Test
+    public void readerGetsTheLatestOfSeveralPublishes() {
+        SnapshotBuffer buffer = new SnapshotBuffer();
+        for (int i = 1; i <= 5; i++) {
+            buffer.getBack().currentRound = i;
+            buffer.publish();
+            assertNotSame(buffer.getBack(), buffer.getFront());
+        }
+        assertTrue(buffer.poll());
+        assertEquals(5, buffer.getFront().currentRound);
+        assertNotSame(buffer.getBack(), buffer.getFront());
+    }
+
+    @Test
+    public void readerNeverSeesATornSnapshot() throws InterruptedException {
+        int publishes = 200_000;
+        SnapshotBuffer buffer = new SnapshotBuffer();
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= publishes; i++) {
+                MatchSnapshot snapshot = buffer.getBack();
+                snapshot.roundWin = i;
+                snapshot.roundLost = i;
+                buffer.publish();
+            }
+        });
+        writer.start();
+
+        // Both fields of a snapshot come from the same publish, and publishes arrive in order
+        int last = 0;
+        while (last < publishes) {
+            if (buffer.poll()) {
+                MatchSnapshot snapshot = buffer.getFront();
+                assertEquals(snapshot.roundWin, snapshot.roundLost);
+                assertTrue(snapshot.roundWin > last);
+                last = snapshot.roundWin;
+            }
+        }
+        writer.join();
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.hbazai.fighter.simulation;
+
+import com.badlogic.gdx.utils.IntArray;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SpatialGridTest {
+    // Ten columns and five rows of 10 by 10 cells
+    private final SpatialGrid grid = new SpatialGrid(0f, 0f, 100f, 50f, 10f, 10f, 16);
+
+    @Test
+    public void sizeCoversTheRectangle() {
+        assertEquals(10, grid.getColumns());
+        assertEquals(5, grid.getRows());
+        assertEquals(1, new SpatialGrid(0f, 0f, 5f, 5f, 10f, 10f, 1).getColumns());
+    }
+
+    @Test
+    public void itemsAreFoundInTheirCell() {
+        grid.add(1, 15f, 5f);
+        grid.add(2, 95f, 45f);
+        grid.add(3, 12f, 8f);
+        grid.add(4, 55f, 25f);
+        grid.build();
+
+        assertItems(grid.getCell(1, 0), 1, 3);
+        assertItems(grid.getCell(9, 4), 2);
+        assertItems(grid.getCell(5, 2), 4);
+        assertItems(grid.getCell(0, 0));
+        assertItems(grid.getCell(2, 0));
+    }
+
+    @Test
+    public void outsidePositionsAreClampedToTheBorder() {
+        assertEquals(0, grid.getColumn(-30f));
+        assertEquals(9, grid.getColumn(100f));
+        assertEquals(0, grid.getRow(-1f));
+        assertEquals(4, grid.getRow(500f));
+
+        grid.add(7, -30f, 500f);
+        grid.add(8, 250f, -5f);
+        grid.build();
+        assertItems(grid.getCell(0, 4), 7);
+        assertItems(grid.getCell(9, 0), 8);
+    }
+
+    @Test
+    public void neighbourQueryOnlyVisitsSurroundingCells() {
+        grid.add(0, 34f, 24f);
+        grid.add(1, 26f, 16f);
+        grid.add(2, 45f, 35f);
+        grid.add(3, 60f, 20f);
+        grid.add(4, 5f, 45f);
+        grid.build();
+
+        // Cells around item 0 in (3, 2)
+        IntArray found = new IntArray();
+        int column = grid.getColumn(34f), row = grid.getRow(24f);
+        for (int r = Math.max(0, row - 1); r <= Math.min(grid.getRows() - 1, row + 1); r++) {
+            for (int c = Math.max(0, column - 1); c <= Math.min(grid.getColumns() - 1, column + 1); c++) {
+                int cell = grid.getCell(c, r);
+                for (int i = grid.getCellStart(cell); i < grid.getCellEnd(cell); i++) {
+                    found.add(grid.getItem(i));
+                }
+            }
+        }
+        found.sort();
+        assertEquals(IntArray.with(0, 1, 2), found);
+    }
+
+    @Test
+    public void clearForgetsTheLastBuild() {
+        grid.add(1, 15f, 5f);
+        grid.add(2, 15f, 5f);
+        grid.build();
+        grid.clear();
+        grid.add(3, 15f, 5f);
+        grid.build();
+
+        assertItems(grid.getCell(1, 0), 3);
+        assertEquals(1, grid.getCellEnd(grid.getColumns() * grid.getRows() - 1));
+    }
+
+    private void assertItems(int cell, int... expected) {
+        assertEquals(expected.length, grid.getCellEnd(cell) - grid.getCellStart(cell));
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], grid.getItem(grid.getCellStart(cell) + i));
+        }
+    }
+}
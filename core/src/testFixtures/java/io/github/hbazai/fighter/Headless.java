@@ -0,0 +1,63 @@
+package io.github.hbazai.fighter;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+import java.lang.reflect.Proxy;
+
+import io.github.hbazai.fighter.objects.Fighter;
+import io.github.hbazai.fighter.objects.FrameData;
+import io.github.hbazai.fighter.resources.Assets;
+import io.github.hbazai.fighter.simulation.Match;
+
+/**
+ * Headless stand-in for the game, shared by the tests, the benchmarks and the headless simulator: a libGDX application
+ * without rendering and a {@link FighterGame} holding only the assets the fighters need.
+ */
+public final class Headless {
+    private static FighterGame game;
+
+    private Headless() {
+    }
+
+    public static synchronized FighterGame game() {
+        if (game == null) {
+            HeadlessApplicationConfiguration configuration = new HeadlessApplicationConfiguration();
+            configuration.updatesPerSecond = -1;
+            new HeadlessApplication(new ApplicationAdapter() {
+            }, configuration);
+            Gdx.gl = Gdx.gl20 = noOpGL();
+
+            game = new FighterGame();
+            game.assets = new Assets();
+            game.assets.manager.load(Assets.GAMEPLAY_ATLAS, TextureAtlas.class);
+            game.assets.manager.load(Assets.FRAME_DATA, FrameData.class);
+            game.assets.manager.finishLoading();
+        }
+        return game;
+    }
+
+    private static GL20 noOpGL() {
+        // The headless backend has no GL, textures only need calls that succeed and return zero
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class}, (proxy, method, args) -> {
+            Class<?> type = method.getReturnType();
+            if (type == int.class) return 0;
+            if (type == boolean.class) return false;
+            if (type == float.class) return 0f;
+            return null;
+        });
+    }
+
+    public static Fighter fighter(String name) {
+        return new Fighter(game(), name, Color.WHITE);
+    }
+
+    public static Match match() {
+        return new Match(fighter("Player"), fighter("Opponent"));
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.hbazai.fighter.headless;
+
+import com.badlogic.gdx.Gdx;
+
+import io.github.hbazai.fighter.FighterGame;
+import io.github.hbazai.fighter.Headless;
+import io.github.hbazai.fighter.objects.Fighter;
+import io.github.hbazai.fighter.replay.ReplayReader;
+import io.github.hbazai.fighter.resources.GlobalVariables;
+import io.github.hbazai.fighter.simulation.FighterSnapshot;
+import io.github.hbazai.fighter.simulation.Match;
+import io.github.hbazai.fighter.simulation.MatchSnapshot;
+
+/**
+ * Runs bot against bot games without rendering, for balance and regression runs. Options, all optional:
+ * {@code --matches=10000 --threads=<cores> --player=HARD --opponent=HARD --seed=1}, e.g.
+ * {@code ./gradlew headless:run --args="--matches=50000 --player=EASY"}.
+ * <p>
+ * {@code --replay=<file>} plays a saved replay instead and checks that the match ends in the state it was recorded in,
+ * exiting with 1 if it doesn't. {@code --seek=<tick>} stops the replay at that tick and prints the state there.
+ */
+public class HeadlessLauncher {
+    public static void main(String[] args) {
+        int matches = 10000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        GlobalVariables.Difficulty playerDifficulty = GlobalVariables.Difficulty.HARD;
+        GlobalVariables.Difficulty opponentDifficulty = GlobalVariables.Difficulty.HARD;
+        int seed = 1;
+        String replay = null;
+        int seek = -1;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--matches=")) {
+                matches = Integer.parseInt(value);
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(value);
+            } else if (arg.startsWith("--player=")) {
+                playerDifficulty = GlobalVariables.Difficulty.valueOf(value.toUpperCase());
+            } else if (arg.startsWith("--opponent=")) {
+                opponentDifficulty = GlobalVariables.Difficulty.valueOf(value.toUpperCase());
+            } else if (arg.startsWith("--seed=")) {
+                seed = Integer.parseInt(value);
+            } else if (arg.startsWith("--replay=")) {
+                replay = value;
+            } else if (arg.startsWith("--seek=")) {
+                seek = Integer.parseInt(value);
+            } else {
+                System.err.println("Unknown option " + arg);
+                System.exit(1);
+            }
+        }
+
+        FighterGame game = Headless.game();
+        if (replay != null) {
+            boolean synced = playReplay(game, replay, seek);
+            Gdx.app.exit();
+            System.exit(synced ? 0 : 1);
+        }
+
+        MatchSimulator simulator = new MatchSimulator(game, playerDifficulty, opponentDifficulty, threads);
+        System.out.println("Simulating " + matches + " matches, " + playerDifficulty + " player against "
+            + opponentDifficulty + " opponent, on " + threads + " threads");
+        MatchSimulator.Results results = simulator.run(matches, seed);
+        results.print(System.out);
+
+        Gdx.app.exit();
+        System.exit(0);
+    }
+
+    private static boolean playReplay(FighterGame game, String path, int seek) {
+        ReplayReader reader = ReplayReader.open(Gdx.files.absolute(path));
+        Match match = new Match(new Fighter(game, reader.playerName, reader.playerColor),
+            new Fighter(game, reader.opponentName, reader.opponentColor));
+        System.out.println("Replaying " + path + ", " + reader.playerName + " against " + reader.opponentName + " on "
+            + reader.difficulty + ", " + reader.getTickCount() + " ticks");
+
+        int end = seek >= 0 ? Math.min(seek, reader.getTickCount()) : reader.getTickCount();
+        int ticks = reader.play(match, end);
+        MatchSnapshot snapshot = new MatchSnapshot();
+        match.writeSnapshot(snapshot);
+        System.out.println("Tick " + ticks + ": " + snapshot.gameState + ", round " + snapshot.currentRound + " "
+            + snapshot.roundState + ", won " + snapshot.roundWin + ", lost " + snapshot.roundLost);
+        printFighter(reader.playerName, snapshot.player, reader.getPlayerInput());
+        printFighter(reader.opponentName, snapshot.opponent, reader.getOpponentInput());
+
+        // Only the state after the last tick was recorded
+        if (ticks < reader.getTickCount()) return true;
+        int checksum = snapshot.checksum();
+        if (checksum != reader.getChecksum()) {
+            System.out.printf("Checksum %08x, recorded %08x: the replay desynced%n", checksum, reader.getChecksum());
+            return false;
+        }
+        System.out.printf("Checksum %08x matches the recording%n", checksum);
+        return true;
+    }
+
+    private static void printFighter(String name, FighterSnapshot fighter, int input) {
+        System.out.printf("  %s %s at (%.2f, %.2f), life %.1f, input %x%n",
+            name, fighter.state, fighter.x, fighter.y, fighter.life, input);
+    }
+}
@@ -0,0 +1,239 @@
+package io.github.hbazai.fighter.headless;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.io.PrintStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.hbazai.fighter.FighterGame;
+import io.github.hbazai.fighter.objects.Fighter;
+import io.github.hbazai.fighter.resources.GlobalVariables;
+import io.github.hbazai.fighter.simulation.GameEvent;
+import io.github.hbazai.fighter.simulation.GameEvents;
+import io.github.hbazai.fighter.simulation.Match;
+import io.github.hbazai.fighter.simulation.MatchSnapshot;
+import io.github.hbazai.fighter.simulation.OpponentAi;
+import io.github.hbazai.fighter.simulation.SimulationRunner;
+
+/**
+ * Plays many games between two {@link OpponentAi}s through the same {@link Match} logic the game runs, spread over a
+ * thread pool. Round delays are skipped, they don't change the outcome.
+ */
+public class MatchSimulator {
+    // Give up on games where neither bot manages to finish, one more round than the most a game can have
+    private static final int MAX_TICKS = (int) ((Match.MAX_ROUNDS + 1) * Match.MAX_ROUND_TIME * SimulationRunner.TICKS_PER_SECOND);
+
+    // Damage dealt in a game is reported in buckets of this many life points
+    private static final int DAMAGE_BUCKET = 10;
+    private static final int DAMAGE_BUCKETS = (int) (Match.MAX_ROUNDS * Fighter.MAX_LIFE / DAMAGE_BUCKET) + 1;
+
+    private final GlobalVariables.Difficulty playerDifficulty, opponentDifficulty;
+    private final Array<Worker> workers = new Array<>();
+
+    public MatchSimulator(FighterGame game, GlobalVariables.Difficulty playerDifficulty,
+                          GlobalVariables.Difficulty opponentDifficulty, int threads) {
+        this.playerDifficulty = playerDifficulty;
+        this.opponentDifficulty = opponentDifficulty;
+
+        // Fighters share the animation cache, which is not thread safe, so create them all up front
+        for (int i = 0; i < threads; i++) {
+            workers.add(new Worker(new Match(
+                new Fighter(game, "Player", Color.RED),
+                new Fighter(game, "Opponent", Color.BLUE)
+            )));
+        }
+    }
+
+    public Results run(int matches, int seed) {
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers.size);
+        long start = TimeUtils.nanoTime();
+        try {
+            Array<Future<Results>> futures = new Array<>();
+            for (Worker worker : workers) {
+                worker.prepare(next, matches, seed);
+                futures.add(executor.submit(worker));
+            }
+
+            Results results = new Results();
+            for (Future<Results> future : futures) {
+                results.add(future.get());
+            }
+            results.nanos = TimeUtils.nanoTime() - start;
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GdxRuntimeException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException("Simulation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private class Worker implements Callable<Results> {
+        private final Match match;
+        private final OpponentAi playerAi = new OpponentAi(true, playerDifficulty);
+        private final OpponentAi opponentAi = new OpponentAi(false, opponentDifficulty);
+        private final MatchSnapshot snapshot = new MatchSnapshot();
+        private final GameEvents events = new GameEvents();
+
+        private AtomicInteger next;
+        private int matches, seed;
+        private float playerDamage, opponentDamage;
+
+        Worker(Match match) {
+            this.match = match;
+            match.setEvents(events);
+            // Count the damage the hits took off, a round lost on time drops the life to zero without a hit
+            events.addListener(event -> {
+                if (event.type != GameEvent.HIT && event.type != GameEvent.BLOCK) return;
+                if (event.fighter == GameEvent.OPPONENT) {
+                    playerDamage += event.damage;
+                } else {
+                    opponentDamage += event.damage;
+                }
+            });
+        }
+
+        void prepare(AtomicInteger next, int matches, int seed) {
+            this.next = next;
+            this.matches = matches;
+            this.seed = seed;
+        }
+
+        @Override
+        public Results call() {
+            Results results = new Results();
+            int index;
+            while ((index = next.getAndIncrement()) < matches) {
+                play(index, results);
+            }
+            return results;
+        }
+
+        private void play(int index, Results results) {
+            // Seed every game by its index, so a run gives the same results however it is split between threads
+            playerAi.reset(mix(seed, index * 2 + 1));
+            opponentAi.reset(mix(seed, index * 2 + 2));
+            events.clear();
+            match.startGame();
+
+            playerDamage = 0f;
+            opponentDamage = 0f;
+            int ticks = 0;
+            while (match.getGameState() != Match.GameState.GAME_OVER && ticks < MAX_TICKS) {
+                match.applyCommands(Match.COMMAND_SKIP_DELAY);
+                int playerControls = playerAi.update(match);
+                int opponentControls = opponentAi.update(match);
+                match.update(SimulationRunner.STEP, playerControls, opponentControls);
+                ticks++;
+                events.drain();
+            }
+
+            match.writeSnapshot(snapshot);
+            results.add(snapshot, ticks, playerDamage, opponentDamage);
+        }
+    }
+
+    private static int mix(int seed, int index) {
+        // Murmur3 finalizer, never zero for the xorshift generator
+        int h = seed * 0x9E3779B9 + index;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h != 0 ? h : 1;
+    }
+
+    public static class Results {
+        public int matches;
+        public int playerWins, opponentWins, unfinished;
+        public int rounds;
+        public long ticks;
+        public long nanos;
+        public final int[] playerDamage = new int[DAMAGE_BUCKETS];
+        public final int[] opponentDamage = new int[DAMAGE_BUCKETS];
+
+        void add(MatchSnapshot snapshot, int ticks, float playerDamage, float opponentDamage) {
+            matches++;
+            if (snapshot.gameState != Match.GameState.GAME_OVER) {
+                unfinished++;
+            } else if (snapshot.roundWin > snapshot.roundLost) {
+                playerWins++;
+            } else {
+                opponentWins++;
+            }
+            rounds += snapshot.roundWin + snapshot.roundLost;
+            this.ticks += ticks;
+            this.playerDamage[bucket(playerDamage)]++;
+            this.opponentDamage[bucket(opponentDamage)]++;
+        }
+
+        void add(Results other) {
+            matches += other.matches;
+            playerWins += other.playerWins;
+            opponentWins += other.opponentWins;
+            unfinished += other.unfinished;
+            rounds += other.rounds;
+            ticks += other.ticks;
+            for (int i = 0; i < DAMAGE_BUCKETS; i++) {
+                playerDamage[i] += other.playerDamage[i];
+                opponentDamage[i] += other.opponentDamage[i];
+            }
+        }
+
+        private static int bucket(float damage) {
+            return Math.min((int) (damage / DAMAGE_BUCKET), DAMAGE_BUCKETS - 1);
+        }
+
+        public double getMatchesPerSecond() {
+            return matches / (nanos / 1e9);
+        }
+
+        public void print(PrintStream out) {
+            double seconds = nanos / 1e9;
+            out.printf("%d matches in %.2f s, %.0f matches/s, %.0fx real time%n",
+                matches, seconds, getMatchesPerSecond(), ticks / (double) SimulationRunner.TICKS_PER_SECOND / seconds);
+            out.printf("Player wins %.1f%%, opponent wins %.1f%%, unfinished %.1f%%%n",
+                percent(playerWins), percent(opponentWins), percent(unfinished));
+            out.printf("%.2f rounds and %.1f s of fighting per match%n",
+                rounds / (double) matches, ticks / (double) SimulationRunner.TICKS_PER_SECOND / matches);
+            printDamage(out, "Damage dealt by player  ", playerDamage);
+            printDamage(out, "Damage dealt by opponent", opponentDamage);
+        }
+
+        private void printDamage(PrintStream out, String label, int[] histogram) {
+            out.printf("%s p10 %d, p50 %d, p90 %d, max %d%n", label,
+                percentile(histogram, 0.1f), percentile(histogram, 0.5f), percentile(histogram, 0.9f), percentile(histogram, 1f));
+            for (int i = 0; i < histogram.length; i++) {
+                if (histogram[i] == 0) continue;
+                out.printf("  %3d-%3d %6.2f%%%n", i * DAMAGE_BUCKET, (i + 1) * DAMAGE_BUCKET - 1, percent(histogram[i]));
+            }
+        }
+
+        private int percentile(int[] histogram, float fraction) {
+            // Upper bound of the bucket holding the given fraction of the matches
+            int target = Math.max(1, (int) Math.ceil(matches * fraction));
+            int count = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                count += histogram[i];
+                if (count >= target) return (i + 1) * DAMAGE_BUCKET;
+            }
+            return histogram.length * DAMAGE_BUCKET;
+        }
+
+        private double percent(int count) {
+            return count * 100.0 / matches;
+        }
+    }
+}
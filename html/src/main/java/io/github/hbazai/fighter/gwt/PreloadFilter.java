@@ -0,0 +1,16 @@
+package io.github.hbazai.fighter.gwt;
+
+import com.badlogic.gdx.backends.gwt.preloader.DefaultAssetFilter;
+
+/**
+ * Keeps the GPU compressed texture variants out of the web build. Browsers always load the PNG pages, so preloading
+ * the KTX files would only make the download bigger. Runs in the GWT compiler, not in the browser.
+ */
+public class PreloadFilter extends DefaultAssetFilter {
+    @Override
+    public boolean accept(String file, boolean isDirectory) {
+        String path = file.replace('\\', '/');
+        if (path.endsWith(".ktx") || path.contains("textures/etc2") || path.contains("textures/dxt")) return false;
+        return super.accept(file, isDirectory);
+    }
+}
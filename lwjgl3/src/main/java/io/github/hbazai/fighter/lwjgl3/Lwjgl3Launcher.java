@@ -2,18 +2,49 @@ package io.github.hbazai.fighter.lwjgl3;
 
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3WindowAdapter;
 import io.github.hbazai.fighter.FighterGame;
 import io.github.hbazai.fighter.resources.GlobalVariables;
+import io.github.hbazai.fighter.screens.RenderScheduler;
+import io.github.hbazai.fighter.simulation.ThreadedSimulationRunner;
 
 /** Launches the desktop (LWJGL3) application. */
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
         if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
-        createApplication();
+        createApplication(args);
     }
 
-    private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new FighterGame(), getDefaultConfiguration());
+    private static Lwjgl3Application createApplication(String[] args) {
+        FighterGame game = new FighterGame();
+        game.simulationRunners = ThreadedSimulationRunner::new;
+        for (String arg : args) {
+            // --arena starts the free for all with 16 fighters, --arena=32 with 32
+            if (arg.equals("--arena")) {
+                game.arenaFighters = 16;
+            } else if (arg.startsWith("--arena=")) {
+                game.arenaFighters = Integer.parseInt(arg.substring("--arena=".length()));
+            } else if (arg.startsWith("--player=")) {
+                // Roster index of the characters to start as, see assets/data/fighter_choices.json
+                game.playerCharacter = Integer.parseInt(arg.substring("--player=".length()));
+            } else if (arg.startsWith("--opponent=")) {
+                game.opponentCharacter = Integer.parseInt(arg.substring("--opponent=".length()));
+            }
+        }
+        Lwjgl3ApplicationConfiguration configuration = getDefaultConfiguration();
+        // Unfocused windows are throttled by the game's render scheduler, minimized ones are paused by the backend
+        configuration.setWindowListener(new Lwjgl3WindowAdapter() {
+            @Override
+            public void focusLost() {
+                game.setUnfocused(true);
+            }
+
+            @Override
+            public void focusGained() {
+                game.setUnfocused(false);
+            }
+        });
+        return new Lwjgl3Application(game, configuration);
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
@@ -28,6 +59,9 @@ public class Lwjgl3Launcher {
         //// If you remove the above line and set Vsync to false, you can get unlimited FPS, which can be
         //// useful for testing performance, but can also be very stressful to some hardware.
         //// You may also need to configure GPU drivers to fully disable Vsync; this can cause screen tearing.
+        //// The idle FPS caps the loop whenever rendering is not continuous, so it must stay above the rates the
+        //// render scheduler asks for, or idle screens and menus would lag.
+        configuration.setIdleFPS(RenderScheduler.IDLE_FPS * 2);
         configuration.setWindowedMode(GlobalVariables.WINDOW_WIDTH, GlobalVariables.WINDOW_HEIGHT);
         //// You can change these files; they are in lwjgl3/src/main/resources/ .
         configuration.setWindowIcon("libgdx128.png", "libgdx64.png", "libgdx32.png", "libgdx16.png");